@@ -6,6 +6,8 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public final class ConfigManager {
@@ -32,6 +34,8 @@ public final class ConfigManager {
                 bot:
                   version: "0.0.3-release"
                   status_channel_id: "0"
+                  status_board_interval_seconds: 15
+                  presence_min_interval_seconds: 30
 
                 network:
                   name: "Lythrion Network"
@@ -42,12 +46,53 @@ public final class ConfigManager {
                   store: "https://store.lythrion.net"
                   docs: "https://wiki.lythrion.net"
 
+                verify:
+                  channel_id: "1474181492098732275"
+                  role_id: "1474181547350425641"
+                  poll_seconds: 5
+                  outbox: false
+                  outbox_min_ms: 1000
+                  outbox_max_idle_seconds: 120
+                  resync_minutes: 10
+                  retry_max_minutes: 10
+                  code_threads: 2
+                  code_queue: 100
+                  rate_limit_attempts: 3
+                  rate_limit_seconds: 60
+
                 channels:
                   welcome: "0"
                   suggestions: "0"
                   feedback: "0"
                   announcements: "0"
 
+                status:
+                  poll_interval_seconds: 10
+                  max_parallel: 4
+                  breaker:
+                    failure_threshold: 3
+                    base_backoff_seconds: 10
+                    max_backoff_seconds: 300
+                  targets:
+                    - id: "main"
+                      name: "Main Core (Velocity Java)"
+                      icon: "🚀"
+                      type: "mcstatus"
+                      address: "Lythrion.net"
+                      proxy: true
+                    - id: "lobby"
+                      name: "Lobby Service"
+                      icon: "🏠"
+                      type: "lythcore"
+                      url: "http://138.201.19.210:8765/status?token=ServiceLobbyStatus"
+                      inline: true
+                    - id: "citybuild"
+                      name: "Citybuild Service"
+                      icon: "🏙️"
+                      type: "lythcore"
+                      url: "http://138.201.19.210:8766/status?token=ServiceCBStatus"
+                      inline: true
+
                 maintenance:
                   main: false
                   lobby: false
@@ -124,4 +169,22 @@ public final class ConfigManager {
         }
         return def;
     }
-}
\ No newline at end of file
+
+    /**
+     * Liest eine YAML-Liste von Maps (z.B. status.targets).
+     * Einträge, die keine Map sind, werden übersprungen.
+     */
+    public static List<Map<String, Object>> getMapList(String path) {
+        Object o = getPath(path);
+        List<Map<String, Object>> result = new ArrayList<>();
+        if (!(o instanceof List<?> list)) return result;
+        for (Object entry : list) {
+            if (entry instanceof Map<?, ?> m) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> typed = (Map<String, Object>) m;
+                result.add(typed);
+            }
+        }
+        return result;
+    }
+}
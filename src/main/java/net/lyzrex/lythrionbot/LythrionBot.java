@@ -4,10 +4,6 @@ import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.OnlineStatus;
 import net.dv8tion.jda.api.entities.Activity;
-import net.dv8tion.jda.api.entities.Member;
-import net.dv8tion.jda.api.entities.Role;
-import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
-import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.CommandData;
 import net.dv8tion.jda.api.interactions.commands.build.Commands;
@@ -18,13 +14,30 @@ import net.lyzrex.lythrionbot.command.CommandListener;
 import net.lyzrex.lythrionbot.db.DatabaseManager;
 import net.lyzrex.lythrionbot.db.SyntrixRepository;
 import net.lyzrex.lythrionbot.game.GameScoreRepository;
+import net.lyzrex.lythrionbot.game.GameScoreStore;
 import net.lyzrex.lythrionbot.game.GameService;
 import net.lyzrex.lythrionbot.i18n.Messages;
 import net.lyzrex.lythrionbot.language.LanguageService;
+import net.lyzrex.lythrionbot.group.GroupCache;
+import net.lyzrex.lythrionbot.leaderboard.LeaderboardSnapshotService;
+import net.lyzrex.lythrionbot.leaderboard.LeaderboardType;
+import net.lyzrex.lythrionbot.moderation.ModerationHistoryCache;
+import net.lyzrex.lythrionbot.moderation.ModerationLogWriter;
+import net.lyzrex.lythrionbot.moderation.ModerationRepository;
+import net.lyzrex.lythrionbot.profile.ProfileAggregateLoader;
+import net.lyzrex.lythrionbot.profile.ProfileCache;
 import net.lyzrex.lythrionbot.profile.UserProfileRepository;
 import net.lyzrex.lythrionbot.status.MaintenanceManager;
+import net.lyzrex.lythrionbot.status.PresenceScheduler;
+import net.lyzrex.lythrionbot.status.StatusBoard;
+import net.lyzrex.lythrionbot.status.StatusHistoryStore;
 import net.lyzrex.lythrionbot.status.StatusService;
+import net.lyzrex.lythrionbot.status.StatusTarget;
+import net.lyzrex.lythrionbot.status.StatusTargetRegistry;
 import net.lyzrex.lythrionbot.ticket.TicketService;
+import net.lyzrex.lythrionbot.verify.CodeVerificationService;
+import net.lyzrex.lythrionbot.verify.VerificationPoller;
+import net.lyzrex.lythrionbot.listener.DiscordUserIndex;
 import net.lyzrex.lythrionbot.listener.JoinListener;
 
 import de.murmelmeister.murmelapi.MurmelAPI;
@@ -38,9 +51,13 @@ import de.murmelmeister.murmelapi.user.playtime.UserPlayTimeProvider;
 import de.murmelmeister.library.database.Database;
 
 import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
 
@@ -91,7 +108,19 @@ public final class LythrionBot {
         DatabaseManager databaseManager = new DatabaseManager();
 
         MaintenanceManager maintenanceManager = new MaintenanceManager();
-        StatusService statusService = new StatusService(maintenanceManager);
+        StatusHistoryStore historyStore = null;
+        if (ConfigManager.getBoolean("status.history_persist", true)) {
+            try {
+                historyStore = StatusHistoryStore.open(
+                        Path.of(ConfigManager.getString("status.history_dir", "data/status-history")),
+                        TimeUnit.DAYS.toMillis(ConfigManager.getInt("status.history_retention_days", 30))
+                );
+            } catch (Exception e) {
+                System.err.println("Failed to open status history store, uptime history will not be persisted: " + e.getMessage());
+            }
+        }
+        StatusService statusService = new StatusService(maintenanceManager, StatusTargetRegistry.fromConfig(), historyStore);
+        statusService.start();
 
         UserProvider userProvider = MurmelAPI.getUserProvider();
         PunishmentCurrentUserProvider punishmentCurrentUserProvider = MurmelAPI.getPunishmentCurrentUserProvider();
@@ -104,9 +133,63 @@ public final class LythrionBot {
         UserProfileRepository userRepo = new UserProfileRepository(murmelDatabase);
         SyntrixRepository syntrixRepo = new SyntrixRepository(murmelDatabase);
         GameScoreRepository gameScoreRepo = new GameScoreRepository(murmelDatabase);
+        ModerationRepository moderationRepo = new ModerationRepository(murmelDatabase);
+
+        // Moderations-Logs nie synchron schreiben; bei DB-Ausfall auf Platte auslagern
+        ModerationLogWriter moderationLog = new ModerationLogWriter(
+                moderationRepo,
+                ConfigManager.getInt("moderation.log_queue_capacity", 10000),
+                ConfigManager.getInt("moderation.log_batch_size", 200),
+                Path.of(ConfigManager.getString("moderation.log_spill_file", "data/moderation-spill.jsonl"))
+        );
+        ModerationHistoryCache moderationHistory = new ModerationHistoryCache(
+                moderationRepo,
+                ConfigManager.getInt("moderation.history_cache_users", 500),
+                ConfigManager.getInt("moderation.history_cache_depth", 25)
+        );
+        moderationLog.addWriteListener(moderationHistory::onWritten);
+        moderationLog.start(ConfigManager.getInt("moderation.log_flush_ms", 2000));
+
+        // Gruppen ändern sich fast nie -> komplett im Speicher
+        GroupCache groupCache = new GroupCache(groupProvider, ConfigManager.getInt("groups.scan_gap", 5));
+        // Refresh kostet eine Query pro Gruppen-ID (GroupProvider kann nicht auflisten), daher selten;
+        // fehlende Gruppen werden dazwischen einzeln nachgeladen
+        groupCache.start(TimeUnit.MINUTES.toMillis(ConfigManager.getInt("groups.refresh_minutes", 60)));
+
+        // Begrenzt, damit /profile den DB-Pool (maximumPoolSize) nicht allein belegt
+        ProfileAggregateLoader profileLoader = new ProfileAggregateLoader(
+                userProvider, playTimeProvider, groupCache, syntrixRepo,
+                ConfigManager.getInt("profile.loader_threads", 4)
+        );
+        ProfileCache profileCache = new ProfileCache(
+                profileLoader,
+                ConfigManager.getInt("profile.cache_size", 500),
+                TimeUnit.SECONDS.toMillis(ConfigManager.getInt("profile.cache_ttl_seconds", 60))
+        );
 
         LanguageService languageService = new LanguageService(userProvider);
-        GameService gameService = new GameService(gameScoreRepo, userProvider);
+        LeaderboardSnapshotService leaderboards = new LeaderboardSnapshotService(
+                ConfigManager.getInt("leaderboard.size", 50),
+                ConfigManager.getInt("leaderboard.page_size", 10)
+        );
+        leaderboards.register(LeaderboardType.LEVEL, syntrixRepo::getGlobalLevelPage);
+        leaderboards.register(LeaderboardType.KILLS, syntrixRepo::getKillsPage);
+        leaderboards.register(LeaderboardType.BALANCE, syntrixRepo::getBalancePage);
+        leaderboards.register(LeaderboardType.PLAYTIME, (cursor, before, limit) -> userRepo.findPageByPlaytime(
+                        cursor != null ? cursor.value().longValue() : null, cursor != null ? cursor.userId() : 0, before, limit)
+                .stream()
+                .map(p -> new SyntrixRepository.LeaderboardEntry(p.getId(), p.getUsername(), BigDecimal.valueOf(p.getPlayTimeSeconds())))
+                .toList());
+        leaderboards.register(LeaderboardType.LOGINS, (cursor, before, limit) -> userRepo.findPageByLoginCount(
+                        cursor != null ? cursor.value().longValue() : null, cursor != null ? cursor.userId() : 0, before, limit)
+                .stream()
+                .map(p -> new SyntrixRepository.LeaderboardEntry(p.getId(), p.getUsername(), BigDecimal.valueOf(p.getLoginCount())))
+                .toList());
+        leaderboards.start(TimeUnit.SECONDS.toMillis(ConfigManager.getInt("leaderboard.refresh_seconds", 60)));
+
+        GameScoreStore gameScoreStore = new GameScoreStore(gameScoreRepo);
+        gameScoreStore.start(TimeUnit.SECONDS.toMillis(ConfigManager.getInt("games.flush_seconds", 5)));
+        GameService gameService = new GameService(gameScoreStore, userProvider);
 
         TicketService ticketService = new TicketService(
                 ConfigManager.getString("tickets.categoryId", "0"),
@@ -128,15 +211,18 @@ public final class LythrionBot {
 
         // --- 5. Slash Commands Registrierung ---
         CommandData statusCmd = Commands.slash("status", "Shows the status of the Lythrion.net network");
+        OptionData serviceOption = new OptionData(OptionType.STRING, "service", "Target service", true);
+        if (statusService.getRegistry().size() <= OptionData.MAX_CHOICES) {
+            for (StatusTarget target : statusService.getRegistry().all()) {
+                serviceOption.addChoice(target.name(), target.id());
+            }
+        }
         CommandData maintenanceCmd = Commands.slash("maintenance", "View or change maintenance modes")
                 .addSubcommands(
                         new SubcommandData("status", "Show current maintenance state"),
                         new SubcommandData("set", "Toggle maintenance mode for a service")
                                 .addOptions(
-                                        new OptionData(OptionType.STRING, "service", "Target service", true)
-                                                .addChoice("Velocity (main)", "main")
-                                                .addChoice("Lobby", "lobby")
-                                                .addChoice("Citybuild", "citybuild"),
+                                        serviceOption,
                                         new OptionData(OptionType.BOOLEAN, "enabled", "Enable maintenance?", true)
                                 )
                 );
@@ -173,6 +259,7 @@ public final class LythrionBot {
 
         CommandData clearCmd = Commands.slash("clear", "Bulk delete messages").addOptions(new OptionData(OptionType.INTEGER, "amount", "Number of messages", true));
         CommandData kickCmd = Commands.slash("kick", "Kick a Discord user").addOptions(new OptionData(OptionType.USER, "user", "User", true), new OptionData(OptionType.STRING, "reason", "Reason", false));
+        CommandData modLogCmd = Commands.slash("modlog", "Show the moderation history of a Discord user").addOptions(new OptionData(OptionType.USER, "user", "User", true));
         CommandData timeoutCmd = Commands.slash("timeout", "Timeout a Discord user").addOptions(new OptionData(OptionType.USER, "user", "User", true), new OptionData(OptionType.STRING, "duration", "Duration", true), new OptionData(OptionType.STRING, "reason", "Reason", false));
         CommandData announceCmd = Commands.slash("announce", "Send an announcement").addOptions(new OptionData(OptionType.STRING, "message", "The message", true), new OptionData(OptionType.CHANNEL, "channel", "Channel", false));
 
@@ -183,14 +270,18 @@ public final class LythrionBot {
         CommandData feedbackCmd = Commands.slash("feedback", "Send feedback").addOptions(new OptionData(OptionType.STRING, "text", "Your feedback", true));
         CommandData tutorialCmd = Commands.slash("tutorial", "How to join Lythrion");
 
-        CommandData leaderCmd = Commands.slash("leaderboard", "Show Lythrion Level Leaderboard");
+        OptionData leaderboardType = new OptionData(OptionType.STRING, "type", "Which leaderboard (default: level)", false);
+        for (LeaderboardType type : LeaderboardType.values()) {
+            leaderboardType.addChoice(type.getLabel(), type.getId());
+        }
+        CommandData leaderCmd = Commands.slash("leaderboard", "Show Lythrion leaderboards").addOptions(leaderboardType);
         CommandData groupCmd = Commands.slash("group", "Show MurmelAPI group info").addOptions(new OptionData(OptionType.STRING, "name", "The group name", true));
         CommandData languageCmd = Commands.slash("language", "Change bot language").addOptions(new OptionData(OptionType.STRING, "choice", "Select language", true).addChoice("English", "english").addChoice("Deutsch", "deutsch"));
 
         jda.updateCommands()
                 .addCommands(
                         statusCmd, maintenanceCmd, botInfoCmd, profileCmd, latencyCmd,
-                        ticketCmd, rpsCmd, rollCmd, punishCmd, clearCmd, kickCmd, timeoutCmd,
+                        ticketCmd, rpsCmd, rollCmd, punishCmd, clearCmd, kickCmd, timeoutCmd, modLogCmd,
                         announceCmd, ipCmd, helpCmd, pingCmd, suggestCmd, feedbackCmd,
                         tutorialCmd, leaderCmd, groupCmd, languageCmd, embedCmd
                 )
@@ -202,77 +293,80 @@ public final class LythrionBot {
                 userRepo, databaseManager, gameService, punishmentService,
                 groupProvider, punishmentLogProvider, userProvider,
                 userService, playTimeProvider, punishmentCurrentUserProvider,
-                languageService, syntrixRepo
+                languageService, syntrixRepo, profileCache, groupCache, leaderboards, moderationLog,
+                moderationHistory
         );
 
         jda.addEventListener(cmdListener);
         jda.addEventListener(new JoinListener());
 
-        // --- 7. Discord Message Listener für Verification ---
-        // Dies ersetzt das JavaScript! Der Bot liest jetzt Java-basiert den Chat mit.
-        jda.addEventListener(new ListenerAdapter() {
-            @Override
-            public void onMessageReceived(MessageReceivedEvent event) {
-                // Konfiguriere hier deine IDs!
-                final String VERIFY_CHANNEL_ID = "1474181492098732275";
-                final String VERIFIED_ROLE_ID = "1474181547350425641";
-
-                if (event.getAuthor().isBot()) return;
-                if (!event.getChannel().getId().equals(VERIFY_CHANNEL_ID)) return;
-
-                String code = event.getMessage().getContentRaw().trim();
-
-                // Nachricht sofort löschen
-                event.getMessage().delete().queue(null, e -> {});
-
-                if (code.length() != 5 || !code.matches("\\d+")) {
-                    event.getChannel().sendMessage(event.getAuthor().getAsMention() + ", invalid code format!")
-                            .queue(msg -> msg.delete().queueAfter(5, TimeUnit.SECONDS));
-                    return;
-                }
-
-                // Check in Database
-                boolean isValid = MurmelAPI.getDatabase().exists(
-                        "SELECT 1 FROM discord_verify WHERE verify_code = ? AND verified = FALSE",
-                        s -> s.setString(1, code)
-                );
-
-                if (!isValid) {
-                    event.getChannel().sendMessage(event.getAuthor().getAsMention() + ", this code is invalid or already used!")
-                            .queue(msg -> msg.delete().queueAfter(5, TimeUnit.SECONDS));
-                    return;
-                }
-
-                // Update Database
-                MurmelAPI.getDatabase().update(
-                        "UPDATE discord_verify SET verified = TRUE, discord_id = ?, discord_name = ? WHERE verify_code = ?",
-                        s -> {
-                            s.setString(1, event.getAuthor().getId());
-                            s.setString(2, event.getAuthor().getName());
-                            s.setString(3, code);
-                        }
-                );
+        // Username -> ID, damit Namens-Lookups nicht den ganzen User-Cache scannen
+        DiscordUserIndex userIndex = new DiscordUserIndex();
+        jda.addEventListener(userIndex);
+        userIndex.indexAll(jda);
 
-                // Rolle geben
-                Member member = event.getMember();
-                if (member != null) {
-                    Role verifiedRole = event.getGuild().getRoleById(VERIFIED_ROLE_ID);
-                    if (verifiedRole != null) {
-                        event.getGuild().addRoleToMember(member, verifiedRole).queue();
-                    }
-                }
-
-                // Success Message
-                event.getChannel().sendMessage(event.getAuthor().getAsMention() + ", you have been successfully verified! Your ingame reward is on its way.")
-                        .queue(msg -> msg.delete().queueAfter(5, TimeUnit.SECONDS));
+        // --- 7. Discord Message Listener für Verification ---
+        // Dies ersetzt das JavaScript! DB-Zugriffe laufen auf einem eigenen Pool, nicht auf dem Event-Thread.
+        CodeVerificationService codeVerification = new CodeVerificationService(
+                MurmelAPI.getDatabase(),
+                ConfigManager.getString("verify.channel_id", "1474181492098732275"),
+                ConfigManager.getString("verify.role_id", "1474181547350425641"),
+                ConfigManager.getInt("verify.code_threads", 2),
+                ConfigManager.getInt("verify.code_queue", 100),
+                ConfigManager.getInt("verify.rate_limit_attempts", 3),
+                TimeUnit.SECONDS.toMillis(ConfigManager.getInt("verify.rate_limit_seconds", 60))
+        );
+        jda.addEventListener(codeVerification);
+
+        // --- 8. Live-Statusanzeige + Presence ---
+        List<String> statusChannelIds = new ArrayList<>();
+        for (String id : ConfigManager.getString("bot.status_channel_id", "0").split(",")) {
+            String trimmed = id.trim();
+            if (!trimmed.isEmpty() && !trimmed.equals("0")) {
+                statusChannelIds.add(trimmed);
             }
-        });
-
-        System.out.println("Lythrion main bot is running.");
+        }
+        StatusBoard statusBoard = new StatusBoard(
+                jda, statusService, statusChannelIds,
+                TimeUnit.SECONDS.toMillis(ConfigManager.getInt("bot.status_board_interval_seconds", 15))
+        );
+        statusBoard.start();
 
-        java.util.concurrent.Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
-                cmdListener::checkPendingVerifications,
-                5, 5, java.util.concurrent.TimeUnit.SECONDS
+        PresenceScheduler presenceScheduler = new PresenceScheduler(
+                jda, statusService,
+                TimeUnit.SECONDS.toMillis(ConfigManager.getInt("bot.presence_min_interval_seconds", 30))
         );
+        presenceScheduler.start();
+
+        // Offene Verifizierungen: Outbox-Events (adaptives Intervall) oder nur neue Zeilen pro Tick,
+        // Rest mit Backoff + periodischem Abgleich
+        // Outbox erst einschalten, wenn die Spielseite discord_verify_events befüllt
+        VerificationPoller verificationPoller = new VerificationPoller(
+                jda, userIndex, databaseManager.getDatabase(),
+                ConfigManager.getString("verify.channel_id", "1474181492098732275"),
+                ConfigManager.getString("verify.role_id", "1474181547350425641"),
+                ConfigManager.getBoolean("verify.outbox", false),
+                TimeUnit.SECONDS.toMillis(ConfigManager.getInt("verify.poll_seconds", 5)),
+                ConfigManager.getInt("verify.outbox_min_ms", 1000),
+                TimeUnit.SECONDS.toMillis(ConfigManager.getInt("verify.outbox_max_idle_seconds", 120)),
+                TimeUnit.MINUTES.toMillis(ConfigManager.getInt("verify.resync_minutes", 10)),
+                TimeUnit.MINUTES.toMillis(ConfigManager.getInt("verify.retry_max_minutes", 10))
+        );
+        verificationPoller.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            verificationPoller.shutdown();
+            codeVerification.shutdown();
+            presenceScheduler.shutdown();
+            statusBoard.shutdown();
+            profileLoader.shutdown();
+            groupCache.shutdown();
+            leaderboards.shutdown();
+            gameScoreStore.shutdown();
+            moderationLog.shutdown();
+            statusService.shutdown();
+        }, "lythrion-shutdown"));
+
+        System.out.println("Lythrion main bot is running.");
     }
 }
\ No newline at end of file
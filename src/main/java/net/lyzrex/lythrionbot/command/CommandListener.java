@@ -13,13 +13,25 @@ import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEve
 import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
 import net.dv8tion.jda.api.events.interaction.component.StringSelectInteractionEvent;
 import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import net.dv8tion.jda.api.interactions.components.ActionRow;
+import net.dv8tion.jda.api.interactions.components.buttons.Button;
 import net.lyzrex.lythrionbot.ConfigManager;
 import net.lyzrex.lythrionbot.db.DatabaseManager;
 import net.lyzrex.lythrionbot.db.SyntrixRepository;
+import net.lyzrex.lythrionbot.group.GroupCache;
+import net.lyzrex.lythrionbot.leaderboard.LeaderboardPage;
+import net.lyzrex.lythrionbot.leaderboard.LeaderboardSnapshotService;
+import net.lyzrex.lythrionbot.leaderboard.LeaderboardType;
+import net.lyzrex.lythrionbot.moderation.ModerationEntry;
+import net.lyzrex.lythrionbot.moderation.ModerationHistoryCache;
+import net.lyzrex.lythrionbot.moderation.ModerationLogWriter;
+import net.lyzrex.lythrionbot.moderation.ModerationRepository;
+import net.lyzrex.lythrionbot.profile.ProfileAggregate;
+import net.lyzrex.lythrionbot.profile.ProfileCache;
 import net.lyzrex.lythrionbot.profile.UserProfileRepository;
 import net.lyzrex.lythrionbot.status.MaintenanceManager;
-import net.lyzrex.lythrionbot.status.ServiceStatus;
 import net.lyzrex.lythrionbot.status.StatusService;
+import net.lyzrex.lythrionbot.status.StatusTarget;
 import net.lyzrex.lythrionbot.ticket.TicketService;
 import net.lyzrex.lythrionbot.game.GameService;
 import net.lyzrex.lythrionbot.i18n.Language;
@@ -35,7 +47,6 @@ import de.murmelmeister.murmelapi.punishment.user.PunishmentCurrentUserProvider;
 import de.murmelmeister.murmelapi.user.User;
 import de.murmelmeister.murmelapi.user.UserProvider;
 import de.murmelmeister.murmelapi.user.UserService;
-import de.murmelmeister.murmelapi.user.parent.UserParent;
 import de.murmelmeister.murmelapi.user.playtime.UserPlayTime;
 import de.murmelmeister.murmelapi.user.playtime.UserPlayTimeProvider;
 
@@ -43,19 +54,19 @@ import de.murmelmeister.murmelapi.MurmelAPI;
 import de.murmelmeister.murmelapi.utils.TimeUtil;
 
 import java.awt.*;
+import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.UUID;
 
 public class CommandListener extends ListenerAdapter {
 
+    private static final int MODLOG_PAGE_SIZE = 10;
+
     private final JDA jda;
     private final StatusService statusService;
     private final MaintenanceManager maintenanceManager;
@@ -72,13 +83,21 @@ public class CommandListener extends ListenerAdapter {
     private final PunishmentCurrentUserProvider punishmentCurrentUserProvider;
     private final LanguageService languageService;
     private final SyntrixRepository syntrixRepository;
+    private final ProfileCache profileCache;
+    private final GroupCache groupCache;
+    private final LeaderboardSnapshotService leaderboards;
+    private final ModerationLogWriter moderationLog;
+    private final ModerationHistoryCache moderationHistory;
 
     public CommandListener(JDA jda, StatusService statusService, MaintenanceManager maintenanceManager,
                            TicketService ticketService, UserProfileRepository userRepo, DatabaseManager databaseManager,
                            GameService gameService, PunishmentService punishmentService, GroupProvider groupProvider,
                            PunishmentLogProvider punishmentLogProvider, UserProvider userProvider, UserService userService,
                            UserPlayTimeProvider playTimeProvider, PunishmentCurrentUserProvider punishmentCurrentUserProvider,
-                           LanguageService languageService, SyntrixRepository syntrixRepository) {
+                           LanguageService languageService, SyntrixRepository syntrixRepository,
+                           ProfileCache profileCache, GroupCache groupCache,
+                           LeaderboardSnapshotService leaderboards, ModerationLogWriter moderationLog,
+                           ModerationHistoryCache moderationHistory) {
         this.jda = jda;
         this.statusService = statusService;
         this.maintenanceManager = maintenanceManager;
@@ -95,6 +114,11 @@ public class CommandListener extends ListenerAdapter {
         this.punishmentCurrentUserProvider = punishmentCurrentUserProvider;
         this.languageService = languageService;
         this.syntrixRepository = syntrixRepository;
+        this.profileCache = profileCache;
+        this.groupCache = groupCache;
+        this.leaderboards = leaderboards;
+        this.moderationLog = moderationLog;
+        this.moderationHistory = moderationHistory;
     }
 
     @Override
@@ -135,7 +159,12 @@ public class CommandListener extends ListenerAdapter {
                 case "latency", "ping" -> handleLatency(event);
                 case "ticketpanel" -> handleTicketPanel(event, admin);
                 case "profile" -> handleProfile(event);
-                case "rps" -> gameService.handleRpsPlay(event);
+                case "rps" -> {
+                    String sub = event.getSubcommandName();
+                    if ("stats".equals(sub)) gameService.handleRpsStats(event);
+                    else if ("top".equals(sub)) gameService.handleRpsTop(event);
+                    else gameService.handleRpsPlay(event);
+                }
                 case "roll" -> gameService.handleDiceRoll(event);
                 case "group" -> handleGroup(event);
                 case "punish" -> handlePunishMinecraft(event, admin);
@@ -147,6 +176,7 @@ public class CommandListener extends ListenerAdapter {
                 case "clear" -> handleClear(event, member);
                 case "kick" -> handleKick(event, member);
                 case "timeout" -> handleTimeout(event, member);
+                case "modlog" -> handleModLog(event, member);
                 case "announce" -> handleAnnounce(event, admin);
                 case "suggest" -> handleSuggest(event);
                 case "feedback" -> handleFeedback(event);
@@ -179,12 +209,12 @@ public class CommandListener extends ListenerAdapter {
                 .setTitle("🤖 Bot Commands")
                 .setColor(0x5865F2)
                 .setDescription("Here is a list of available commands:")
-                .addField("General", "`/ip` - Server IP\n`/status` - Network Status\n`/tutorial` - How to join\n`/leaderboard` - Global Level Top 10", false)
+                .addField("General", "`/ip` - Server IP\n`/status` - Network Status\n`/tutorial` - How to join\n`/leaderboard` - Leaderboards", false)
                 .addField("User", "`/profile <name>` - Player Stats\n`/language` - Set Bot Language\n`/suggest` - Make a suggestion\n`/feedback` - Send feedback", false)
                 .addField("Games", "`/rps play` - Rock Paper Scissors\n`/roll` - Dice Game", false);
 
         if (event.getMember().hasPermission(Permission.KICK_MEMBERS)) {
-            eb.addField("Moderation", "`/punish` - Ban/Mute MC Player\n`/kick` - Kick Discord User\n`/timeout` - Timeout Discord User\n`/clear` - Delete messages\n`/announce` - Send announcement", false);
+            eb.addField("Moderation", "`/punish` - Ban/Mute MC Player\n`/kick` - Kick Discord User\n`/timeout` - Timeout Discord User\n`/modlog` - Moderation History\n`/clear` - Delete messages\n`/announce` - Send announcement", false);
         }
         event.replyEmbeds(eb.build()).setEphemeral(true).queue();
     }
@@ -221,130 +251,99 @@ public class CommandListener extends ListenerAdapter {
     }
 
     private void handleLeaderboard(SlashCommandInteractionEvent event) {
-        event.deferReply().queue();
-        CompletableFuture.supplyAsync(() -> syntrixRepository.getGlobalLevelLeaderboard(10))
-                .thenAccept(list -> {
-                    if (list.isEmpty()) {
-                        event.getHook().editOriginal("❌ No data available.").queue();
-                        return;
-                    }
-                    StringBuilder sb = new StringBuilder();
-                    int rank = 1;
-                    for (SyntrixRepository.LeaderboardEntry e : list) {
-                        String medal = rank == 1 ? "🥇" : (rank == 2 ? "🥈" : (rank == 3 ? "🥉" : "▪️"));
-                        sb.append(medal).append(" `").append(rank).append(".` **").append(e.username())
-                                .append("** — Level ").append((int) e.value()).append("\n");
-                        rank++;
-                    }
-                    EmbedBuilder eb = new EmbedBuilder()
-                            .setTitle("🏆 Lythrion Global Level Leaderboard")
-                            .setColor(0xFFD700)
-                            .setDescription(sb.toString())
-                            .setFooter("Top 10 Players");
-                    event.getHook().editOriginalEmbeds(eb.build()).queue();
-                })
-                .exceptionally(e -> {
-                    event.getHook().editOriginal("❌ Database Error: " + e.getMessage()).queue();
-                    return null;
-                });
-    }
+        LeaderboardType type = LeaderboardType.fromId(
+                event.getOption("type") != null ? event.getOption("type").getAsString() : null);
 
-    private void handleProfile(SlashCommandInteractionEvent event) {
-        String input = event.getOption("input").getAsString();
-        event.deferReply().queue(); // Verhindert Timeout
+        // Seite 1 kommt immer aus dem Snapshot im Speicher, keine Query
+        if (leaderboards.get(type) == null) {
+            event.reply("❌ No data available.").setEphemeral(true).queue();
+            return;
+        }
+        LeaderboardPage page = leaderboards.page(type, 1, null, false).join();
+        if (page.isEmpty()) {
+            event.reply("❌ No data available.").setEphemeral(true).queue();
+            return;
+        }
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                // 1. User finden
-                User user = userProvider.findByUsername(input);
-                if (user == null) {
-                    try { user = userProvider.findByMojangId(UUID.fromString(input)); } catch (Exception ignored) {}
-                }
+        event.replyEmbeds(buildLeaderboardEmbed(page)).setComponents(leaderboardButtons(page)).queue();
+    }
 
-                if (user == null) {
-                    event.getHook().editOriginal("❌ Profile not found for `" + input + "`.").queue();
-                    return;
-                }
+    // Button-ID: lb:<typ>:<seite>:<n|p>:<wert>:<userId> – der Cursor steckt komplett in der ID
+    private void handleLeaderboardButton(ButtonInteractionEvent event) {
+        String[] parts = event.getComponentId().split(":");
+        if (parts.length != 6) {
+            event.deferEdit().queue();
+            return;
+        }
 
-                int userId = user.id();
-
-                // 2. Daten parallel abrufen
-                UserPlayTime playtime = playTimeProvider.findByUserId(userId);
-                double wallet = syntrixRepository.getBalance(userId);
-                SyntrixRepository.BankDetails bank = syntrixRepository.getBankDetails(userId);
-                SyntrixRepository.PlayerStats stats = syntrixRepository.getStats(userId);
-                SyntrixRepository.SkillStats skills = syntrixRepository.getSkillStats(userId);
-
-                // 3. Rang Logik (Höchste Priorität)
-                List<UserParent> parents = MurmelAPI.getUserParentProvider().getParents(userId);
-                Group highestGroup = null;
-
-                if (parents != null && !parents.isEmpty()) {
-                    highestGroup = parents.stream()
-                            .map(p -> groupProvider.findById(p.parentId()))
-                            .filter(Objects::nonNull)
-                            .max(Comparator.comparingInt(Group::priority))
-                            .orElse(null);
-                }
+        LeaderboardType type = LeaderboardType.fromId(parts[1]);
+        int pageNumber;
+        SyntrixRepository.LeaderboardCursor cursor;
+        try {
+            pageNumber = Integer.parseInt(parts[2]);
+            cursor = new SyntrixRepository.LeaderboardCursor(new BigDecimal(parts[4]), Long.parseLong(parts[5]));
+        } catch (NumberFormatException e) {
+            event.deferEdit().queue();
+            return;
+        }
 
-                if (highestGroup == null) {
-                    highestGroup = groupProvider.findById(1); // Default
-                }
+        event.deferEdit().queue();
+        leaderboards.page(type, pageNumber, cursor, "p".equals(parts[3]))
+                .thenAccept(page -> event.getHook()
+                        .editOriginalEmbeds(buildLeaderboardEmbed(page))
+                        .setComponents(leaderboardButtons(page))
+                        .queue())
+                .exceptionally(e -> {
+                    System.err.println("[CommandListener] Failed to load leaderboard page: " + e.getMessage());
+                    return null;
+                });
+    }
 
-                String groupName = (highestGroup != null) ? highestGroup.groupName() : "default";
-                groupName = groupName.substring(0, 1).toUpperCase() + groupName.substring(1);
+    private MessageEmbed buildLeaderboardEmbed(LeaderboardPage page) {
+        int first = (page.page() - 1) * leaderboards.getPageSize() + 1;
+        return new EmbedBuilder()
+                .setTitle(page.type().getTitle())
+                .setColor(0xFFD700)
+                .setDescription(page.isEmpty() ? "No entries on this page." : page.rendered())
+                .setFooter("Page " + page.page() + " • Rank " + first + "-" + (first + Math.max(0, page.entries().size() - 1)))
+                .setTimestamp(Instant.ofEpochMilli(page.refreshedAt()))
+                .build();
+    }
 
-                // 4. Formatierung
-                long pTime = playtime != null ? playtime.getPlayTime() : 0;
-                String pTimeStr = formatDuration(pTime * 1000L);
-                String firstJoin = user.firstLogin() != null ? user.firstLogin().toString().split("T")[0] : "N/A";
-                int logins = playtime != null ? playtime.getLoginCount() : 0;
+    private ActionRow leaderboardButtons(LeaderboardPage page) {
+        String prefix = "lb:" + page.type().getId() + ":";
+        Button previous = page.hasPrevious()
+                ? Button.secondary(prefix + (page.page() - 1) + ":p:" + cursorId(page.entries().get(0)), "◀ Previous")
+                : Button.secondary(prefix + "p", "◀ Previous").asDisabled();
+        Button next = page.hasNext()
+                ? Button.secondary(prefix + (page.page() + 1) + ":n:" + cursorId(page.entries().get(page.entries().size() - 1)), "Next ▶")
+                : Button.secondary(prefix + "n", "Next ▶").asDisabled();
+        return ActionRow.of(previous, next);
+    }
 
-                // 5. Embed bauen
-                EmbedBuilder eb = new EmbedBuilder()
-                        .setTitle("👤 Full Profile: " + user.username())
-                        .setColor(0x00bcd4)
-                        .setThumbnail("https://mc-heads.net/avatar/" + user.mojangId());
-
-                // General Section
-                eb.addField("📜 General",
-                        "**Rank:** " + groupName + "\n" +
-                                "**Playtime:** " + pTimeStr + "\n" +
-                                "**Logins:** " + logins + "\n" +
-                                "**First Join:** " + firstJoin, true);
-
-                // Economy Section
-                String bankInfo = (bank != null)
-                        ? String.format("Balance: %,.2f$\nLevel: %d\nStatus: %s\nLoan: %,.2f$",
-                        bank.balance(), bank.level(), bank.frozen() ? "FROZEN" : "Active", bank.loan())
-                        : "No Account";
-
-                eb.addField("💰 Economy",
-                        "**Wallet:** " + String.format("%,.2f$", wallet) + "\n" +
-                                "**Bank:**\n" + bankInfo, true);
-
-                // Combat Stats
-                double kd = (stats.deaths() == 0) ? stats.kills() : (double) stats.kills() / stats.deaths();
-                eb.addField("⚔️ Combat Stats",
-                        "**Kills:** " + stats.kills() + "\n" +
-                                "**Deaths:** " + stats.deaths() + "\n" +
-                                "**Mob Kills:** " + stats.mobKills() + "\n" +
-                                "**K/D Ratio:** " + String.format("%.2f", kd), true);
-
-                // Skills Section
-                eb.addField("🎓 Skills (Global Level: " + (int)skills.global() + ")",
-                        "⚔️ Combat: " + formatXp(skills.combat()) + "\n" +
-                                "⛏️ Mining: " + formatXp(skills.mining()) + "\n" +
-                                "🌾 Farming: " + formatXp(skills.farming()) + "\n" +
-                                "🪓 Foraging: " + formatXp(skills.foraging()) + "\n" +
-                                "🎣 Fishing: " + formatXp(skills.fishing()) + "\n" +
-                                "✨ Enchanting: " + formatXp(skills.enchanting()) + "\n" +
-                                "🏹 Archery: " + formatXp(skills.archery()), false);
-
-                eb.setFooter("ID: " + user.id() + " | UUID: " + user.mojangId());
+    private static String cursorId(SyntrixRepository.LeaderboardEntry entry) {
+        return entry.value().stripTrailingZeros().toPlainString() + ":" + entry.userId();
+    }
 
-                event.getHook().editOriginalEmbeds(eb.build()).queue();
+    private void handleProfile(SlashCommandInteractionEvent event) {
+        String input = event.getOption("input").getAsString();
+        event.deferReply().queue(); // Verhindert Timeout
+
+        // Aus dem Cache oder: User suchen, danach Spielzeit, Syntrix-Daten und Ränge parallel laden
+        profileCache.get(input).orTimeout(15, TimeUnit.SECONDS).whenComplete((profile, ex) -> {
+            if (ex != null) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                event.getHook().editOriginal("❌ Error loading profile (DB): " + cause.getMessage()).queue();
+                System.err.println("[CommandListener] Failed to load profile '" + input + "': " + cause);
+                return;
+            }
+            if (profile == null) {
+                event.getHook().editOriginal("❌ Profile not found for `" + input + "`.").queue();
+                return;
+            }
 
+            try {
+                event.getHook().editOriginalEmbeds(buildProfileEmbed(profile)).queue();
             } catch (Exception e) {
                 event.getHook().editOriginal("❌ Error loading profile (DB): " + e.getMessage()).queue();
                 e.printStackTrace();
@@ -352,6 +351,69 @@ public class CommandListener extends ListenerAdapter {
         });
     }
 
+    private MessageEmbed buildProfileEmbed(ProfileAggregate profile) {
+        User user = profile.user();
+        UserPlayTime playtime = profile.playtime();
+        Group highestGroup = profile.highestGroup();
+        double wallet = profile.data().wallet();
+        SyntrixRepository.BankDetails bank = profile.data().bank();
+        SyntrixRepository.PlayerStats stats = profile.data().stats();
+        SyntrixRepository.SkillStats skills = profile.data().skills();
+
+        String groupName = (highestGroup != null) ? highestGroup.groupName() : "default";
+        groupName = groupName.substring(0, 1).toUpperCase() + groupName.substring(1);
+
+        // Formatierung
+        long pTime = playtime != null ? playtime.getPlayTime() : 0;
+        String pTimeStr = formatDuration(pTime * 1000L);
+        String firstJoin = user.firstLogin() != null ? user.firstLogin().toString().split("T")[0] : "N/A";
+        int logins = playtime != null ? playtime.getLoginCount() : 0;
+
+        // Embed bauen
+        EmbedBuilder eb = new EmbedBuilder()
+                .setTitle("👤 Full Profile: " + user.username())
+                .setColor(0x00bcd4)
+                .setThumbnail("https://mc-heads.net/avatar/" + user.mojangId());
+
+        // General Section
+        eb.addField("📜 General",
+                "**Rank:** " + groupName + "\n" +
+                        "**Playtime:** " + pTimeStr + "\n" +
+                        "**Logins:** " + logins + "\n" +
+                        "**First Join:** " + firstJoin, true);
+
+        // Economy Section
+        String bankInfo = (bank != null)
+                ? String.format("Balance: %,.2f$\nLevel: %d\nStatus: %s\nLoan: %,.2f$",
+                bank.balance(), bank.level(), bank.frozen() ? "FROZEN" : "Active", bank.loan())
+                : "No Account";
+
+        eb.addField("💰 Economy",
+                "**Wallet:** " + String.format("%,.2f$", wallet) + "\n" +
+                        "**Bank:**\n" + bankInfo, true);
+
+        // Combat Stats
+        double kd = (stats.deaths() == 0) ? stats.kills() : (double) stats.kills() / stats.deaths();
+        eb.addField("⚔️ Combat Stats",
+                "**Kills:** " + stats.kills() + "\n" +
+                        "**Deaths:** " + stats.deaths() + "\n" +
+                        "**Mob Kills:** " + stats.mobKills() + "\n" +
+                        "**K/D Ratio:** " + String.format("%.2f", kd), true);
+
+        // Skills Section
+        eb.addField("🎓 Skills (Global Level: " + (int)skills.global() + ")",
+                "⚔️ Combat: " + formatXp(skills.combat()) + "\n" +
+                        "⛏️ Mining: " + formatXp(skills.mining()) + "\n" +
+                        "🌾 Farming: " + formatXp(skills.farming()) + "\n" +
+                        "🪓 Foraging: " + formatXp(skills.foraging()) + "\n" +
+                        "🎣 Fishing: " + formatXp(skills.fishing()) + "\n" +
+                        "✨ Enchanting: " + formatXp(skills.enchanting()) + "\n" +
+                        "🏹 Archery: " + formatXp(skills.archery()), false);
+
+        eb.setFooter("ID: " + user.id() + " | UUID: " + user.mojangId());
+        return eb.build();
+    }
+
     private void handleClear(SlashCommandInteractionEvent event, Member member) {
         if (!member.hasPermission(Permission.MESSAGE_MANAGE)) {
             event.reply("❌ No permission.").setEphemeral(true).queue();
@@ -384,7 +446,10 @@ public class CommandListener extends ListenerAdapter {
         }
 
         target.kick(reason).queue(
-                success -> event.reply("✅ Kicked **" + target.getUser().getAsTag() + "** | Reason: " + reason).queue(),
+                success -> {
+                    moderationLog.logKick(target.getGuild().getIdLong(), target.getIdLong(), moderator.getIdLong(), reason);
+                    event.reply("✅ Kicked **" + target.getUser().getAsTag() + "** | Reason: " + reason).queue();
+                },
                 error -> event.reply("❌ Failed to kick user.").setEphemeral(true).queue()
         );
     }
@@ -410,11 +475,99 @@ public class CommandListener extends ListenerAdapter {
         }
 
         target.timeoutFor(Duration.ofSeconds(seconds)).reason(reason).queue(
-                success -> event.reply("✅ Timeout for **" + target.getUser().getAsTag() + "** (" + durationStr + ")").queue(),
+                success -> {
+                    moderationLog.logTimeout(target.getGuild().getIdLong(), target.getIdLong(), moderator.getIdLong(), reason, seconds);
+                    event.reply("✅ Timeout for **" + target.getUser().getAsTag() + "** (" + durationStr + ")").queue();
+                },
                 error -> event.reply("❌ Failed to timeout user.").setEphemeral(true).queue()
         );
     }
 
+    private void handleModLog(SlashCommandInteractionEvent event, Member moderator) {
+        if (moderator == null || !moderator.hasPermission(Permission.MODERATE_MEMBERS)) {
+            event.reply("❌ No permission.").setEphemeral(true).queue();
+            return;
+        }
+        long guildId = event.getGuild().getIdLong();
+        long userId = event.getOption("user").getAsUser().getIdLong();
+
+        event.deferReply(true).queue();
+        CompletableFuture.supplyAsync(() -> moderationHistory.page(guildId, userId, null, MODLOG_PAGE_SIZE))
+                .thenAccept(page -> event.getHook()
+                        .editOriginalEmbeds(buildModLogEmbed(userId, page, true))
+                        .setComponents(modLogButtons(userId, page, true))
+                        .queue())
+                .exceptionally(e -> {
+                    event.getHook().editOriginal("❌ Fehler beim Laden des Verlaufs: " + e.getMessage()).queue();
+                    return null;
+                });
+    }
+
+    // Button-ID: mh:<userId>:<beforeId> (0 = neueste Einträge)
+    private void handleModLogButton(ButtonInteractionEvent event) {
+        Member member = event.getMember();
+        String[] parts = event.getComponentId().split(":");
+        if (member == null || !member.hasPermission(Permission.MODERATE_MEMBERS) || parts.length != 3 || event.getGuild() == null) {
+            event.deferEdit().queue();
+            return;
+        }
+
+        long userId;
+        long beforeId;
+        try {
+            userId = Long.parseLong(parts[1]);
+            beforeId = Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            event.deferEdit().queue();
+            return;
+        }
+
+        long guildId = event.getGuild().getIdLong();
+        boolean first = beforeId <= 0;
+        event.deferEdit().queue();
+        CompletableFuture.supplyAsync(() -> moderationHistory.page(guildId, userId, first ? null : beforeId, MODLOG_PAGE_SIZE))
+                .thenAccept(page -> event.getHook()
+                        .editOriginalEmbeds(buildModLogEmbed(userId, page, first))
+                        .setComponents(modLogButtons(userId, page, first))
+                        .queue())
+                .exceptionally(e -> {
+                    System.err.println("[CommandListener] Failed to load moderation history: " + e.getMessage());
+                    return null;
+                });
+    }
+
+    private MessageEmbed buildModLogEmbed(long userId, ModerationRepository.HistoryPage page, boolean first) {
+        StringBuilder sb = new StringBuilder();
+        for (ModerationEntry entry : page.entries()) {
+            sb.append("`#").append(entry.getId()).append("` **").append(entry.getAction()).append("** by <@")
+                    .append(entry.getModeratorId()).append("> <t:").append(entry.getCreatedAtEpoch()).append(":R>");
+            if (entry.getDurationSeconds() != null) {
+                sb.append(" (").append(formatDuration(entry.getDurationSeconds() * 1000)).append(")");
+            }
+            if (entry.getReason() != null && !entry.getReason().isBlank()) {
+                sb.append("\n> ").append(entry.getReason());
+            }
+            sb.append("\n");
+        }
+
+        return new EmbedBuilder()
+                .setTitle("🛡️ Moderation History")
+                .setColor(Color.ORANGE)
+                .setDescription("<@" + userId + ">\n\n" + (page.entries().isEmpty()
+                        ? (first ? "No entries." : "No older entries.")
+                        : sb.toString()))
+                .setTimestamp(Instant.now())
+                .build();
+    }
+
+    private ActionRow modLogButtons(long userId, ModerationRepository.HistoryPage page, boolean first) {
+        Button newest = Button.secondary("mh:" + userId + ":0", "⏮ Newest").withDisabled(first);
+        Button older = page.nextCursor() != null
+                ? Button.secondary("mh:" + userId + ":" + page.nextCursor(), "Older ▶")
+                : Button.secondary("mh:" + userId + ":end", "Older ▶").asDisabled();
+        return ActionRow.of(newest, older);
+    }
+
     private void handleAnnounce(SlashCommandInteractionEvent event, boolean admin) {
         if (!admin) {
             event.reply("❌ Only admins.").setEphemeral(true).queue();
@@ -568,67 +721,6 @@ public class CommandListener extends ListenerAdapter {
         });
     }
 
-    public void checkPendingVerifications() {
-        String channelId = "1474181492098732275";
-        String roleId = "1474181547350425641";
-
-        TextChannel channel = jda.getTextChannelById(channelId);
-        if (channel == null) return;
-
-        // Fetch pending requests from the database where discord_id is not yet set
-        databaseManager.getDatabase().queryList(
-                "SELECT v.discord_name, v.verify_code, u.username FROM discord_verify v JOIN users u ON v.user_id = u.id WHERE v.discord_id IS NULL",
-                rs -> {
-                    String dName = rs.getString("discord_name");
-                    String code = rs.getString("verify_code");
-                    String mcName = rs.getString("username");
-
-                    // Search user cache for the Discord name
-                    List<net.dv8tion.jda.api.entities.User> users = jda.getUsersByName(dName, true);
-
-                    if (!users.isEmpty()) {
-                        net.dv8tion.jda.api.entities.User dUser = users.get(0);
-
-                        // --- CHECK: Is this Discord ID or Minecraft ID already verified? ---
-                        boolean isAlreadyLinked = databaseManager.getDatabase().exists(
-                                "SELECT 1 FROM discord_verify WHERE (discord_id = ? OR discord_name = ?) AND verified = TRUE",
-                                s -> {
-                                    s.setString(1, dUser.getId());
-                                    s.setString(2, dName);
-                                });
-
-                        if (isAlreadyLinked) {
-                            // Cancel the request if already linked
-                            databaseManager.getDatabase().update("DELETE FROM discord_verify WHERE verify_code = ?", s -> s.setString(1, code));
-                            return null;
-                        }
-
-                        EmbedBuilder eb = new EmbedBuilder()
-                                .setTitle("🔐 Account Verification")
-                                .setColor(0x2ecc71)
-                                .setThumbnail("https://mc-heads.net/avatar/" + mcName)
-                                .setDescription("Hello " + dUser.getAsMention() + "!\n\nYou started a verification for: **" + mcName + "**.")
-                                .addField("Your Code", "```/link " + code + "```", false)
-                                .setFooter("Use this command in Minecraft to receive your 10,000$ reward!");
-
-                        // Send message to the channel (Ping user)
-                        channel.sendMessage(dUser.getAsMention()).setEmbeds(eb.build()).queue();
-
-                        // Update database with the confirmed Discord ID
-                        databaseManager.getDatabase().update("UPDATE discord_verify SET discord_id = ? WHERE verify_code = ?", s -> {
-                            s.setString(1, dUser.getId());
-                            s.setString(2, code);
-                        });
-
-                        // Assign the verification role to the user
-                        channel.getGuild().addRoleToMember(UserSnowflake.fromId(dUser.getId()), channel.getGuild().getRoleById(roleId)).queue();
-                    }
-                    return true;
-                },
-                null
-        );
-    }
-
     private void sendVerificationEmbed(net.dv8tion.jda.api.entities.User dUser, String mcName, String code, TextChannel channel, String roleId) {
         EmbedBuilder eb = new EmbedBuilder()
                 .setTitle("🔐 Account Verification")
@@ -693,38 +785,36 @@ public class CommandListener extends ListenerAdapter {
     }
 
     private void handleStatus(SlashCommandInteractionEvent event) {
-        long start = System.currentTimeMillis();
         event.deferReply().queue();
 
-
-        CompletableFuture<ServiceStatus> mainF = CompletableFuture.supplyAsync(statusService::fetchMainStatus);
-        CompletableFuture<ServiceStatus> lobF = CompletableFuture.supplyAsync(statusService::fetchLobbyStatus);
-        CompletableFuture<ServiceStatus> cbF = CompletableFuture.supplyAsync(statusService::fetchCitybuildStatus);
-
-        CompletableFuture.allOf(mainF, lobF, cbF).orTimeout(10, TimeUnit.SECONDS).whenComplete((v, ex) -> {
+        statusService.fetchAll().orTimeout(10, TimeUnit.SECONDS).whenComplete((statuses, ex) -> {
             if (ex != null) {
                 event.getHook().editOriginal("❌ Timeout fetching status.").queue();
                 return;
             }
-            ServiceStatus m = mainF.join();
-            ServiceStatus l = lobF.join();
-            ServiceStatus c = cbF.join();
 
-            statusService.updatePresenceFromData(jda, m, l, c);
-            event.getHook().editOriginalEmbeds(statusService.buildStatusEmbed(m, l, c)).queue();
+            event.getHook().editOriginalEmbeds(statusService.buildStatusEmbed(statuses)).queue();
         });
     }
 
     private void handleMaintenance(SlashCommandInteractionEvent event, boolean admin) {
         if ("status".equals(event.getSubcommandName())) {
-            event.reply("Maintenance Status: Main=" + maintenanceManager.isMain()).setEphemeral(true).queue();
+            StringBuilder sb = new StringBuilder("Maintenance Status:");
+            for (StatusTarget target : statusService.getRegistry().all()) {
+                sb.append("\n").append(target.name()).append(": ")
+                        .append(maintenanceManager.isMaintenance(target.id()));
+            }
+            event.reply(sb.toString()).setEphemeral(true).queue();
         } else if ("set".equals(event.getSubcommandName()) && admin) {
             String s = event.getOption("service").getAsString();
             boolean b = event.getOption("enabled").getAsBoolean();
-            if (s.equals("main")) maintenanceManager.setMain(b);
-            else if (s.equals("lobby")) maintenanceManager.setLobby(b);
-            else if (s.equals("citybuild")) maintenanceManager.setCitybuild(b);
-            event.reply("✅ Maintenance for " + s + " set to " + b).setEphemeral(true).queue();
+            StatusTarget target = statusService.getRegistry().get(s);
+            if (target == null) {
+                event.reply("❌ Unknown service: " + s).setEphemeral(true).queue();
+                return;
+            }
+            maintenanceManager.setMaintenance(target.id(), b);
+            event.reply("✅ Maintenance for " + target.name() + " set to " + b).setEphemeral(true).queue();
         } else {
             event.reply("❌ Invalid subcommand or no permission.").setEphemeral(true).queue();
         }
@@ -732,7 +822,10 @@ public class CommandListener extends ListenerAdapter {
 
     private void handleBotInfo(SlashCommandInteractionEvent event) {
         long ram = (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / 1024 / 1024;
-        event.replyEmbeds(new EmbedBuilder().setTitle("🤖 Bot Info").addField("RAM", ram + " MB", true).addField("Ping", jda.getGatewayPing() + "ms", true).build()).setEphemeral(true).queue();
+        ProfileCache.Stats cache = profileCache.getStats();
+        String cacheInfo = String.format("%d cached • %.0f%% hits\n%d hits / %d misses / %d evictions",
+                cache.size(), cache.hitRate(), cache.hits(), cache.misses(), cache.evictions());
+        event.replyEmbeds(new EmbedBuilder().setTitle("🤖 Bot Info").addField("RAM", ram + " MB", true).addField("Ping", jda.getGatewayPing() + "ms", true).addField("Profile Cache", cacheInfo, false).build()).setEphemeral(true).queue();
     }
 
     private void handleTicketPanel(SlashCommandInteractionEvent event, boolean admin) {
@@ -742,7 +835,7 @@ public class CommandListener extends ListenerAdapter {
 
     private void handleGroup(SlashCommandInteractionEvent event) {
         String name = event.getOption("name").getAsString();
-        Group g = groupProvider.findByName(name);
+        Group g = groupCache.findByName(name);
         if (g == null) event.reply("❌ Group not found.").setEphemeral(true).queue();
         else event.reply("Group: " + g.groupName() + " (ID: " + g.id() + ")").setEphemeral(true).queue();
     }
@@ -782,7 +875,9 @@ public class CommandListener extends ListenerAdapter {
 
         User user = userProvider.findByUsername(event.getUser().getName());
         if (user != null) {
-            languageService.setLanguage(user.id(), targetLang.get());
+            if (languageService.setLanguage(user.id(), targetLang.get())) {
+                profileCache.invalidate(user.id()); // Profil enthält den User-Datensatz
+            }
             event.reply("✅ Language set to " + targetLang.get().name()).setEphemeral(true).queue();
         } else {
             event.reply("❌ Please link your Minecraft account first (Same username required).").setEphemeral(true).queue();
@@ -796,7 +891,16 @@ public class CommandListener extends ListenerAdapter {
 
     @Override
     public void onButtonInteraction(ButtonInteractionEvent event) {
-        ticketService.handleCloseButton(event);
+        String id = event.getComponentId();
+        if (id.startsWith("lb:")) {
+            handleLeaderboardButton(event);
+        } else if (id.startsWith("mh:")) {
+            handleModLogButton(event);
+        } else if (id.startsWith("rps:")) {
+            gameService.handleRpsTopButton(event);
+        } else {
+            ticketService.handleCloseButton(event);
+        }
     }
 
     private String formatDuration(long ms) {
@@ -1,10 +1,13 @@
 package net.lyzrex.lythrionbot.db;
 
 import de.murmelmeister.library.database.Database;
+import de.murmelmeister.library.database.ResultSetProcessor;
 
+import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class SyntrixRepository {
@@ -16,7 +19,10 @@ public class SyntrixRepository {
         initTables();
     }
 
-    private void initTables() { /* (Unverändert, siehe vorher) */ }
+    private void initTables() {
+        /* (Unverändert, siehe vorher) */
+        checkLeaderboardIndexes();
+    }
 
     // --- ECONOMY ---
     public double getBalance(int userId) {
@@ -66,14 +72,149 @@ public class SyntrixRepository {
         ), s -> s.setInt(1, userId));
     }
 
+    // --- PROFIL (alles in einem Roundtrip) ---
+    /**
+     * Wallet, Bank, Skills und Stats eines Users in einer einzigen Abfrage.
+     * Fehlende Zeilen werden wie bei den Einzel-Methoden mit 0 bzw. null
+     * (keine Bank) aufgefüllt.
+     */
+    public ProfileData getProfileData(int userId) {
+        String sql = """
+            SELECT e.balance AS wallet,
+                   b.account_number, b.balance AS bank_balance, b.level AS bank_level, b.is_frozen, l.loan_amount,
+                   s.global_level, s.combat_xp, s.mining_xp, s.farming_xp, s.foraging_xp,
+                   s.fishing_xp, s.enchanting_xp, s.archery_xp,
+                   st.kills, st.deaths, st.mob_kills
+            FROM (SELECT ? AS user_id) q
+            LEFT JOIN economy_balances e ON e.user_id = q.user_id
+            LEFT JOIN bank_accounts b ON b.owner_id = q.user_id
+            LEFT JOIN bank_loans l ON l.bank_id = b.id
+            LEFT JOIN player_skills s ON s.user_id = q.user_id
+            LEFT JOIN player_stats st ON st.user_id = q.user_id
+            LIMIT 1
+        """;
+        ProfileData empty = new ProfileData(0.0, null, new SkillStats(0,0,0,0,0,0,0,0), new PlayerStats(0, 0, 0));
+        ProfileData data = database.query(sql, empty, rs -> new ProfileData(
+                rs.getDouble("wallet"),
+                rs.getString("account_number") != null ? new BankDetails(
+                        rs.getString("account_number"),
+                        rs.getDouble("bank_balance"),
+                        rs.getInt("bank_level"),
+                        rs.getBoolean("is_frozen"),
+                        rs.getObject("loan_amount") != null ? rs.getDouble("loan_amount") : 0.0
+                ) : null,
+                new SkillStats(
+                        rs.getDouble("global_level"),
+                        rs.getDouble("combat_xp"),
+                        rs.getDouble("mining_xp"),
+                        rs.getDouble("farming_xp"),
+                        rs.getDouble("foraging_xp"),
+                        rs.getDouble("fishing_xp"),
+                        rs.getDouble("enchanting_xp"),
+                        rs.getDouble("archery_xp")
+                ),
+                new PlayerStats(
+                        rs.getInt("kills"),
+                        rs.getInt("deaths"),
+                        rs.getInt("mob_kills")
+                )
+        ), s -> s.setInt(1, userId));
+        return data != null ? data : empty;
+    }
+
+    // --- LEADERBOARDS (Keyset-Paging) ---
+    // Sortierung immer: Wert absteigend, bei Gleichstand User-ID aufsteigend.
+    // Seiten werden über den Cursor (Wert + ID des Randeintrags) gesucht statt
+    // per OFFSET, dadurch kostet Seite 500 so viel wie Seite 1.
+
     public List<LeaderboardEntry> getGlobalLevelLeaderboard(int limit) {
-        String sql = "SELECT u.username, s.global_level FROM player_skills s JOIN users u ON s.user_id = u.id ORDER BY s.global_level DESC LIMIT ?";
-        return database.queryList(sql, rs -> new LeaderboardEntry(rs.getString("username"), rs.getDouble("global_level")), s -> s.setInt(1, limit));
+        return getGlobalLevelPage(null, false, limit);
+    }
+
+    public List<LeaderboardEntry> getGlobalLevelPage(LeaderboardCursor cursor, boolean before, int limit) {
+        return leaderboardPage("player_skills", "global_level", cursor, before, limit);
+    }
+
+    public List<LeaderboardEntry> getKillsPage(LeaderboardCursor cursor, boolean before, int limit) {
+        return leaderboardPage("player_stats", "kills", cursor, before, limit);
     }
 
+    public List<LeaderboardEntry> getBalancePage(LeaderboardCursor cursor, boolean before, int limit) {
+        return leaderboardPage("economy_balances", "balance", cursor, before, limit);
+    }
+
+    /**
+     * Eine Seite einer Rangliste über table.column (Tabelle mit user_id).
+     *
+     * @param cursor null = erste Seite
+     * @param before true = die Seite vor dem Cursor (Cursor = erster Eintrag der aktuellen Seite)
+     */
+    private List<LeaderboardEntry> leaderboardPage(String table, String column,
+                                                   LeaderboardCursor cursor, boolean before, int limit) {
+        String select = "SELECT t.user_id, u.username, t." + column + " AS value FROM " + table + " t " +
+                "JOIN users u ON t.user_id = u.id WHERE t." + column + " IS NOT NULL";
+
+        if (cursor == null) {
+            String sql = select + " ORDER BY t." + column + " DESC, t.user_id ASC LIMIT ?";
+            return database.queryList(sql, LEADERBOARD_PROCESSOR, s -> s.setInt(1, limit));
+        }
+
+        String sql = before
+                ? select + " AND (t." + column + " > ? OR (t." + column + " = ? AND t.user_id < ?))" +
+                  " ORDER BY t." + column + " ASC, t.user_id DESC LIMIT ?"
+                : select + " AND (t." + column + " < ? OR (t." + column + " = ? AND t.user_id > ?))" +
+                  " ORDER BY t." + column + " DESC, t.user_id ASC LIMIT ?";
+        List<LeaderboardEntry> page = new ArrayList<>(database.queryList(sql, LEADERBOARD_PROCESSOR, s -> {
+            s.setBigDecimal(1, cursor.value());
+            s.setBigDecimal(2, cursor.value());
+            s.setLong(3, cursor.userId());
+            s.setInt(4, limit);
+        }));
+        if (before) {
+            Collections.reverse(page);
+        }
+        return page;
+    }
+
+    /**
+     * Prüft, ob die Indizes für das Keyset-Paging vorhanden sind. Die Tabellen
+     * gehören dem Game-Server; angelegt werden die Indizes dort per
+     * db/game/leaderboard_indexes.sql, der Bot warnt nur.
+     */
+    private void checkLeaderboardIndexes() {
+        checkIndex("player_skills", "idx_lb_global_level");
+        checkIndex("player_stats", "idx_lb_kills");
+        checkIndex("economy_balances", "idx_lb_balance");
+    }
+
+    private void checkIndex(String table, String index) {
+        try {
+            boolean exists = database.exists(
+                    "SELECT 1 FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?",
+                    s -> {
+                        s.setString(1, table);
+                        s.setString(2, index);
+                    });
+            if (!exists) {
+                System.err.println("[SyntrixRepository] Index " + index + " on " + table
+                        + " is missing, leaderboard pages will filesort (see db/game/leaderboard_indexes.sql).");
+            }
+        } catch (Exception e) {
+            System.err.println("[SyntrixRepository] Failed to check index " + index + ": " + e.getMessage());
+        }
+    }
+
+    private static final ResultSetProcessor<LeaderboardEntry> LEADERBOARD_PROCESSOR = rs -> new LeaderboardEntry(
+            rs.getLong("user_id"),
+            rs.getString("username"),
+            rs.getBigDecimal("value")
+    );
+
     // --- RECORDS ---
     public record BankDetails(String accountNumber, double balance, int level, boolean frozen, double loan) {}
     public record SkillStats(double global, double combat, double mining, double farming, double foraging, double fishing, double enchanting, double archery) {}
     public record PlayerStats(int kills, int deaths, int mobKills) {}
-    public record LeaderboardEntry(String username, double value) {}
+    public record ProfileData(double wallet, BankDetails bank, SkillStats skills, PlayerStats stats) {}
+    public record LeaderboardEntry(long userId, String username, BigDecimal value) {}
+    public record LeaderboardCursor(BigDecimal value, long userId) {}
 }
\ No newline at end of file
@@ -4,7 +4,6 @@ import de.murmelmeister.library.database.Database;
 import de.murmelmeister.library.database.ResultSetProcessor;
 
 import java.util.List;
-import java.util.Optional;
 
 public class GameScoreRepository {
 
@@ -27,68 +26,47 @@ public class GameScoreRepository {
     }
 
     /**
-     * Retrieves an existing GameScore or creates a new default one, saving it to the database.
+     * Adds the given deltas with one multi-row INSERT ... ON DUPLICATE KEY UPDATE.
+     * Missing rows are created with the delta as their initial value.
      */
-    public GameScore getOrCreate(long userId) {
-        String selectSql = "SELECT wins, losses, draws, last_played FROM " + TABLE_NAME + " WHERE user_id = ?";
+    public void applyDeltas(List<ScoreDelta> deltas) {
+        if (deltas.isEmpty()) return;
 
-        // 1. Attempt to fetch existing score using database.query()
-        GameScore existing = database.query(
-                selectSql,
-                null,
-                SCORE_PROCESSOR,
-                stmt -> stmt.setLong(1, userId)
-        );
-
-        if (existing != null) {
-            return existing;
+        StringBuilder sql = new StringBuilder("INSERT INTO " + TABLE_NAME + " (user_id, wins, losses, draws, last_played) VALUES ");
+        for (int i = 0; i < deltas.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
         }
+        sql.append(" ON DUPLICATE KEY UPDATE " +
+                "wins = wins + VALUES(wins), " +
+                "losses = losses + VALUES(losses), " +
+                "draws = draws + VALUES(draws), " +
+                "last_played = GREATEST(last_played, VALUES(last_played))");
 
-        // 2. If not found, create default and save
-        GameScore newScore = new GameScore(userId, 0, 0, 0, 0L);
-        save(newScore);
-        return newScore;
-    }
-
-    /**
-     * Saves or updates the GameScore in the database using ON DUPLICATE KEY UPDATE.
-     */
-    public void save(GameScore score) {
-        String sql = "INSERT INTO " + TABLE_NAME + " (user_id, wins, losses, draws, last_played) " +
-                "VALUES (?, ?, ?, ?, ?) " +
-                "ON DUPLICATE KEY UPDATE " +
-                "wins = VALUES(wins), " +
-                "losses = VALUES(losses), " +
-                "draws = VALUES(draws), " +
-                "last_played = VALUES(last_played)";
-
-        // Nutzt database.update()
         database.update(
-                sql,
+                sql.toString(),
                 stmt -> {
-                    stmt.setLong(1, score.getUserId());
-                    stmt.setInt(2, score.getWins());
-                    stmt.setInt(3, score.getLosses());
-                    stmt.setInt(4, score.getDraws());
-                    stmt.setLong(5, score.getLastPlayed());
+                    int i = 1;
+                    for (ScoreDelta delta : deltas) {
+                        stmt.setLong(i++, delta.userId());
+                        stmt.setInt(i++, delta.wins());
+                        stmt.setInt(i++, delta.losses());
+                        stmt.setInt(i++, delta.draws());
+                        stmt.setLong(i++, delta.lastPlayed());
+                    }
                 }
         );
     }
 
     /**
-     * Finds the top N scores based on (wins - losses) and then by wins.
+     * Loads every stored score (used to warm the in-memory score store).
      */
-    public List<GameScore> findTop(int limit) {
-        String sql = "SELECT user_id, wins, losses, draws, last_played " +
-                "FROM " + TABLE_NAME + " " +
-                "ORDER BY (wins - losses) DESC, wins DESC " +
-                "LIMIT ?";
-
-        // Nutzt database.queryList()
-        return database.queryList(
-                sql,
-                SCORE_PROCESSOR,
-                stmt -> stmt.setInt(1, limit)
-        );
+    public List<GameScore> findAll() {
+        String sql = "SELECT user_id, wins, losses, draws, last_played FROM " + TABLE_NAME;
+        return database.queryList(sql, SCORE_PROCESSOR, stmt -> {});
     }
-}
\ No newline at end of file
+
+    /**
+     * Change to add on top of the stored values.
+     */
+    public record ScoreDelta(long userId, int wins, int losses, int draws, long lastPlayed) {}
+}
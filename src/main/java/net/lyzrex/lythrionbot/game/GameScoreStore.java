@@ -0,0 +1,221 @@
+package net.lyzrex.lythrionbot.game;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-Behind-Speicher für RPS-Scores.
+ *
+ * Beim Start werden alle Scores einmal geladen. Ergebnisse werden atomar im
+ * Speicher verbucht; zusätzlich wird pro User das noch nicht geschriebene
+ * Delta gesammelt und periodisch (und beim Shutdown) als Multi-Row-Upsert
+ * mit wins = wins + x etc. geschrieben. Eine RPS-Runde wartet damit nie auf
+ * MySQL, und Änderungen von außerhalb werden nicht überschrieben.
+ */
+public class GameScoreStore {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final GameScoreRepository repo;
+    private final Map<Long, Row> rows = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+    private final RpsLeaderboard leaderboard = new RpsLeaderboard();
+
+    /**
+     * Aktueller Stand plus noch nicht geschriebenes Delta; Zugriff nur unter der Row.
+     */
+    private static final class Row {
+        private final GameScore score;
+        private int pendingWins;
+        private int pendingLosses;
+        private int pendingDraws;
+
+        private Row(GameScore score) {
+            this.score = score;
+        }
+    }
+
+    public GameScoreStore(GameScoreRepository repo) {
+        this.repo = repo;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "game-score-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Lädt alle Scores und startet den periodischen Flush.
+     */
+    public void start(long flushIntervalMs) {
+        long start = System.currentTimeMillis();
+        for (GameScore score : repo.findAll()) {
+            rows.put(score.getUserId(), new Row(score));
+            leaderboard.update(null, RpsLeaderboard.keyOf(score));
+        }
+        System.out.println("[GameScoreStore] Loaded " + rows.size() + " scores in "
+                + (System.currentTimeMillis() - start) + "ms.");
+
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stoppt den Flusher und schreibt alle offenen Änderungen.
+     */
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+
+    // ========================================================================
+    // Lesen / Schreiben
+    // ========================================================================
+
+    /**
+     * @return Kopie des aktuellen Scores (0/0/0, wenn der User noch nie gespielt hat)
+     */
+    public GameScore get(long userId) {
+        Row row = rows.get(userId);
+        if (row == null) {
+            return new GameScore(userId, 0, 0, 0, 0L);
+        }
+        synchronized (row) {
+            return copy(row.score);
+        }
+    }
+
+    /**
+     * Verbucht ein Ergebnis atomar und liefert den neuen Stand zurück.
+     */
+    public GameScore record(long userId, GameService.Result result) {
+        Row row = rows.computeIfAbsent(userId, id -> new Row(new GameScore(id, 0, 0, 0, 0L)));
+        GameScore snapshot;
+        synchronized (row) {
+            RpsLeaderboard.RankKey previous = RpsLeaderboard.keyOf(row.score);
+            switch (result) {
+                case WIN -> {
+                    row.score.addWin();
+                    row.pendingWins++;
+                }
+                case LOSS -> {
+                    row.score.addLoss();
+                    row.pendingLosses++;
+                }
+                case DRAW -> {
+                    row.score.addDraw();
+                    row.pendingDraws++;
+                }
+            }
+            snapshot = copy(row.score);
+            leaderboard.update(previous, RpsLeaderboard.keyOf(row.score));
+        }
+        dirty.add(userId);
+        return snapshot;
+    }
+
+    /**
+     * Top limit Scores nach (wins - losses), dann wins – ohne Datenbank.
+     */
+    public List<GameScore> top(int limit) {
+        return page(null, false, limit);
+    }
+
+    /**
+     * Keyset-Seite aus der In-Memory-Rangliste, absteigend sortiert.
+     *
+     * @param cursor null = erste Seite, sonst Rand-Eintrag der aktuellen Seite
+     * @param before true = die limit Einträge vor dem Cursor, sonst die danach
+     */
+    public List<GameScore> page(RpsLeaderboard.RankKey cursor, boolean before, int limit) {
+        List<RpsLeaderboard.RankKey> keys = cursor != null && before
+                ? leaderboard.pageBefore(cursor, limit)
+                : leaderboard.page(cursor, limit);
+        List<GameScore> result = new ArrayList<>(keys.size());
+        for (RpsLeaderboard.RankKey key : keys) {
+            result.add(get(key.userId()));
+        }
+        return result;
+    }
+
+    public RpsLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
+    // ========================================================================
+    // Flush
+    // ========================================================================
+
+    /**
+     * Schreibt alle offenen Deltas in Batches. Schlägt ein Batch fehl, werden
+     * seine Deltas zurückgebucht und beim nächsten Flush erneut versucht.
+     */
+    public void flush() {
+        if (dirty.isEmpty()) return;
+
+        List<GameScoreRepository.ScoreDelta> batch = new ArrayList<>(Math.min(BATCH_SIZE, dirty.size()));
+        Iterator<Long> it = dirty.iterator();
+        while (it.hasNext()) {
+            Long userId = it.next();
+            // Erst austragen, dann Delta übernehmen: spätere Runden markieren die Zeile erneut
+            it.remove();
+            Row row = rows.get(userId);
+            if (row == null) continue;
+            synchronized (row) {
+                if (row.pendingWins == 0 && row.pendingLosses == 0 && row.pendingDraws == 0) continue;
+                batch.add(new GameScoreRepository.ScoreDelta(userId, row.pendingWins, row.pendingLosses,
+                        row.pendingDraws, row.score.getLastPlayed()));
+                row.pendingWins = 0;
+                row.pendingLosses = 0;
+                row.pendingDraws = 0;
+            }
+            if (batch.size() >= BATCH_SIZE) {
+                write(batch);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        write(batch);
+    }
+
+    private void write(List<GameScoreRepository.ScoreDelta> batch) {
+        if (batch.isEmpty()) return;
+        try {
+            repo.applyDeltas(batch);
+        } catch (RuntimeException ex) {
+            for (GameScoreRepository.ScoreDelta delta : batch) {
+                Row row = rows.get(delta.userId());
+                synchronized (row) {
+                    row.pendingWins += delta.wins();
+                    row.pendingLosses += delta.losses();
+                    row.pendingDraws += delta.draws();
+                }
+                dirty.add(delta.userId());
+            }
+            throw ex;
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            System.err.println("[GameScoreStore] Flush failed, retrying later: " + ex.getMessage());
+        }
+    }
+
+    private static GameScore copy(GameScore score) {
+        return new GameScore(score.getUserId(), score.getWins(), score.getLosses(), score.getDraws(), score.getLastPlayed());
+    }
+}
@@ -1,26 +1,33 @@
 package net.lyzrex.lythrionbot.game;
 
 import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.interaction.component.ButtonInteractionEvent;
+import net.dv8tion.jda.api.interactions.components.ActionRow;
+import net.dv8tion.jda.api.interactions.components.buttons.Button;
 
 import de.murmelmeister.murmelapi.MurmelAPI;
 import de.murmelmeister.murmelapi.language.message.MessageService;
 import de.murmelmeister.murmelapi.user.UserProvider;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
 public class GameService {
 
-    private final GameScoreRepository repo;
+    private static final int TOP_PAGE_SIZE = 10;
+
+    private final GameScoreStore scoreStore;
     private UserProvider userProvider = null;
     private final Random random = new Random();
     private long virtualBalance = 1000; // SIMULIERTE BALANCE FÜR DAS WÜRFELSPIEL
 
-    public GameService(GameScoreRepository repo, UserProvider userProvider) {
-        this.repo = repo;
+    public GameService(GameScoreStore scoreStore, UserProvider userProvider) {
+        this.scoreStore = scoreStore;
         this.userProvider = this.userProvider;
     }
 
@@ -55,13 +62,8 @@ public class GameService {
         RpsMove botMove = RpsMove.values()[random.nextInt(RpsMove.values().length)];
         Result result = evaluate(playerMove, botMove);
 
-        GameScore score = repo.getOrCreate(user.getIdLong());
-        switch (result) {
-            case WIN -> score.addWin();
-            case LOSS -> score.addLoss();
-            case DRAW -> score.addDraw();
-        }
-        repo.save(score);
+        // Nur im Speicher verbuchen, geschrieben wird im Hintergrund
+        GameScore score = scoreStore.record(user.getIdLong(), result);
 
         // 2. KORRIGIERT: Titel über MurmelAPI MessageService abrufen (mit Fallback)
         String titleKey = switch (result) {
@@ -103,7 +105,7 @@ public class GameService {
     // /rps stats
     public void handleRpsStats(SlashCommandInteractionEvent event) {
         User user = event.getUser();
-        GameScore score = repo.getOrCreate(user.getIdLong());
+        GameScore score = scoreStore.get(user.getIdLong());
 
         EmbedBuilder eb = new EmbedBuilder()
                 .setTitle("📊 RPS stats for " + user.getAsTag())
@@ -120,19 +122,80 @@ public class GameService {
 
     // /rps top
     public void handleRpsTop(SlashCommandInteractionEvent event) {
-        // KORRIGIERT: Verwende den einfachen Klassennamen GameScore, da er im selben Paket liegt
-        List<GameScore> top = repo.findTop(10);
+        // Aus der In-Memory-Rangliste, keine Query
+        TopPage page = loadTopPage(1, null, false);
 
-        if (top.isEmpty()) {
+        if (page.scores().isEmpty()) {
             event.reply("📊 No game data yet. Play some `/rps play` rounds first!")
                     .setEphemeral(true)
                     .queue();
             return;
         }
 
+        event.replyEmbeds(buildTopEmbed(page)).setComponents(topButtons(page)).queue();
+    }
+
+    // Blättern in /rps top, Button-ID: rps:<seite>:<n|p>:<net>:<wins>:<userId>
+    public void handleRpsTopButton(ButtonInteractionEvent event) {
+        String[] parts = event.getComponentId().split(":");
+        if (parts.length != 6) {
+            event.deferEdit().queue();
+            return;
+        }
+
+        TopPage page;
+        try {
+            RpsLeaderboard.RankKey cursor = new RpsLeaderboard.RankKey(
+                    Long.parseLong(parts[5]), Integer.parseInt(parts[3]), Integer.parseInt(parts[4]));
+            page = loadTopPage(Integer.parseInt(parts[1]), cursor, "p".equals(parts[2]));
+        } catch (NumberFormatException e) {
+            event.deferEdit().queue();
+            return;
+        }
+
+        event.editMessageEmbeds(buildTopEmbed(page)).setComponents(topButtons(page)).queue();
+    }
+
+    private TopPage loadTopPage(int page, RpsLeaderboard.RankKey cursor, boolean before) {
+        // Ein Eintrag mehr, um zu wissen, ob es in Blätterrichtung weitergeht
+        List<GameScore> scores = new ArrayList<>();
+        boolean hasPrevious = false;
+        boolean hasNext = false;
+
+        if (cursor != null && before) {
+            scores.addAll(scoreStore.page(cursor, true, TOP_PAGE_SIZE + 1));
+            hasPrevious = scores.size() > TOP_PAGE_SIZE;
+            if (hasPrevious) {
+                scores.remove(0);
+            }
+            hasNext = true;
+            if (!hasPrevious && scores.size() < TOP_PAGE_SIZE) {
+                // Oben angekommen (Rangliste hat sich verschoben) -> Seite 1
+                cursor = null;
+            }
+        }
+
+        if (cursor == null || !before) {
+            scores = new ArrayList<>(scoreStore.page(cursor, false, TOP_PAGE_SIZE + 1));
+            if (scores.isEmpty() && cursor != null) {
+                // Hinter dem Cursor ist niemand mehr (alle aufgestiegen) -> Seite 1
+                cursor = null;
+                scores = new ArrayList<>(scoreStore.page(null, false, TOP_PAGE_SIZE + 1));
+            }
+            hasNext = scores.size() > TOP_PAGE_SIZE;
+            if (hasNext) {
+                scores.remove(scores.size() - 1);
+            }
+            hasPrevious = cursor != null;
+        }
+
+        return new TopPage(hasPrevious ? Math.max(2, page) : 1, scores, hasPrevious, hasNext);
+    }
+
+    private MessageEmbed buildTopEmbed(TopPage page) {
         StringBuilder sb = new StringBuilder();
-        int rank = 1;
-        for (GameScore s : top) { // KORRIGIERT: Verwende GameScore
+        int rank = (page.page() - 1) * TOP_PAGE_SIZE + 1;
+        for (GameScore s : page.scores()) { // KORRIGIERT: Verwende GameScore
             sb.append("`#").append(rank++).append("` ")
                     .append("<@").append(s.getUserId()).append("> – ")
                     .append("W: ").append(s.getWins())
@@ -143,15 +206,32 @@ public class GameService {
                     .append(")\n");
         }
 
-        EmbedBuilder eb = new EmbedBuilder()
+        return new EmbedBuilder()
                 .setTitle("🏆 RPS Leaderboard")
                 .setColor(0x22c55e)
-                .setDescription(sb.toString())
-                .setTimestamp(Instant.now());
+                .setDescription(sb.length() > 0 ? sb.toString() : "No entries on this page.")
+                .setFooter("Page " + page.page())
+                .setTimestamp(Instant.now())
+                .build();
+    }
 
-        event.replyEmbeds(eb.build()).queue();
+    private ActionRow topButtons(TopPage page) {
+        Button previous = page.hasPrevious()
+                ? Button.secondary(topButtonId(page.page() - 1, "p", page.scores().get(0)), "◀ Previous")
+                : Button.secondary("rps:p", "◀ Previous").asDisabled();
+        Button next = page.hasNext()
+                ? Button.secondary(topButtonId(page.page() + 1, "n", page.scores().get(page.scores().size() - 1)), "Next ▶")
+                : Button.secondary("rps:n", "Next ▶").asDisabled();
+        return ActionRow.of(previous, next);
     }
 
+    private static String topButtonId(int page, String direction, GameScore edge) {
+        RpsLeaderboard.RankKey key = RpsLeaderboard.keyOf(edge);
+        return "rps:" + page + ":" + direction + ":" + key.netScore() + ":" + key.wins() + ":" + key.userId();
+    }
+
+    private record TopPage(int page, List<GameScore> scores, boolean hasPrevious, boolean hasNext) {}
+
 
     // NEU: Würfelspiel Logik
     public void handleDiceRoll(SlashCommandInteractionEvent event) {
@@ -215,7 +295,7 @@ public class GameService {
         };
     }
 
-    private enum Result {
+    public enum Result {
         WIN, LOSS, DRAW
     }
 
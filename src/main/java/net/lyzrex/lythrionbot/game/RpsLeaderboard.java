@@ -0,0 +1,84 @@
+package net.lyzrex.lythrionbot.game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Sortierte RPS-Rangliste im Speicher: (wins - losses) absteigend, dann
+ * wins absteigend (bei Gleichstand nach User-ID).
+ *
+ * Wird einmal aus dem {@link GameScoreStore} befüllt und bei jedem Ergebnis in
+ * O(log n) aktualisiert; die Top K zu lesen kostet O(K) ohne Query.
+ */
+public class RpsLeaderboard {
+
+    /**
+     * Position eines Users in der Rangliste.
+     */
+    public record RankKey(long userId, int netScore, int wins) {}
+
+    private static final Comparator<RankKey> ORDER = Comparator
+            .comparingInt(RankKey::netScore).reversed()
+            .thenComparing(Comparator.comparingInt(RankKey::wins).reversed())
+            .thenComparingLong(RankKey::userId);
+
+    private final NavigableSet<RankKey> ranking = new ConcurrentSkipListSet<>(ORDER);
+
+    public static RankKey keyOf(GameScore score) {
+        return new RankKey(score.getUserId(), score.getWins() - score.getLosses(), score.getWins());
+    }
+
+    /**
+     * Verschiebt einen User; previous ist null oder nicht enthalten, wenn er
+     * neu ist. Aufrufer serialisieren Änderungen pro User.
+     */
+    public void update(RankKey previous, RankKey current) {
+        if (previous != null) {
+            if (previous.equals(current)) return;
+            ranking.remove(previous);
+        }
+        ranking.add(current);
+    }
+
+    /**
+     * @return die ersten limit Einträge ab Platz 1
+     */
+    public List<RankKey> top(int limit) {
+        return page(null, limit);
+    }
+
+    /**
+     * Keyset-Paging: die nächsten limit Einträge nach after (null = von vorne).
+     */
+    public List<RankKey> page(RankKey after, int limit) {
+        List<RankKey> result = new ArrayList<>(Math.max(0, limit));
+        Iterator<RankKey> it = (after == null ? ranking : ranking.tailSet(after, false)).iterator();
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    /**
+     * Keyset-Paging rückwärts: die limit Einträge direkt vor before,
+     * absteigend sortiert wie {@link #page(RankKey, int)}.
+     */
+    public List<RankKey> pageBefore(RankKey before, int limit) {
+        List<RankKey> result = new ArrayList<>(Math.max(0, limit));
+        Iterator<RankKey> it = ranking.headSet(before, false).descendingIterator();
+        while (result.size() < limit && it.hasNext()) {
+            result.add(it.next());
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public int size() {
+        return ranking.size();
+    }
+}
@@ -0,0 +1,189 @@
+package net.lyzrex.lythrionbot.group;
+
+import de.murmelmeister.murmelapi.group.Group;
+import de.murmelmeister.murmelapi.group.GroupProvider;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-Memory-Tabelle aller MurmelAPI-Gruppen (ID -> Gruppe, Name -> Gruppe).
+ *
+ * Der GroupProvider bietet nur findById/findByName und kann nicht alle
+ * Gruppen auf einmal liefern. Die Tabelle wird deshalb beim Start und danach
+ * periodisch über die (fortlaufenden) Gruppen-IDs aufgebaut: ab ID 1, bis
+ * scanGap IDs in Folge nicht existieren – eine Query pro ID. Der Refresh läuft
+ * deshalb selten (Standard 60 Minuten); fehlt zwischendurch eine Gruppe, wird
+ * sie einzeln nachgeladen.
+ *
+ * Rang-Auflösung und /group laufen damit ohne Datenbank-Zugriff.
+ */
+public class GroupCache {
+
+    private static final int DEFAULT_GROUP_ID = 1;
+    private static final int MAX_SCAN_ID = 10_000;
+
+    private record Snapshot(Map<Integer, Group> byId, Map<String, Group> byName) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of());
+    }
+
+    private final GroupProvider groupProvider;
+    private final int scanGap;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    // Namen/IDs, die es beim letzten Nachladen nicht gab; werden bei jedem Refresh geleert
+    private final Set<String> missingNames = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> missingIds = ConcurrentHashMap.newKeySet();
+
+    public GroupCache(GroupProvider groupProvider, int scanGap) {
+        this.groupProvider = groupProvider;
+        this.scanGap = Math.max(1, scanGap);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "group-cache");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Lädt die Tabelle synchron und plant danach den periodischen Refresh.
+     */
+    public void start(long refreshIntervalMs) {
+        refresh();
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Baut die Tabelle neu auf und tauscht sie atomar aus.
+     */
+    public void refresh() {
+        try {
+            Map<Integer, Group> byId = new HashMap<>();
+            int misses = 0;
+            int id = 1;
+            for (; id <= MAX_SCAN_ID && misses < scanGap; id++) {
+                Group group = groupProvider.findById(id);
+                if (group == null) {
+                    misses++;
+                } else {
+                    misses = 0;
+                    byId.put(id, group);
+                }
+            }
+            int lastScanned = id - 1;
+
+            synchronized (this) {
+                // Einzeln nachgeladene Gruppen hinter dem Scan-Bereich behalten
+                for (Group group : snapshot.byId.values()) {
+                    if (group.id() > lastScanned) {
+                        byId.putIfAbsent(group.id(), group);
+                    }
+                }
+                snapshot = build(byId);
+                missingNames.clear();
+                missingIds.clear();
+            }
+            System.out.println("[GroupCache] Loaded " + byId.size() + " groups.");
+        } catch (Exception ex) {
+            System.err.println("[GroupCache] Failed to refresh groups: " + ex.getMessage());
+        }
+    }
+
+    // ========================================================================
+    // Lookups
+    // ========================================================================
+
+    public Group findById(int id) {
+        Group group = snapshot.byId.get(id);
+        if (group != null || missingIds.contains(id)) return group;
+
+        // z.B. UserParent auf eine gelöschte Gruppe: nur einmal pro Refresh nachfragen
+        group = groupProvider.findById(id);
+        if (group != null) {
+            add(group);
+        } else {
+            missingIds.add(id);
+        }
+        return group;
+    }
+
+    /**
+     * Case-insensitive Suche nach dem Gruppennamen.
+     */
+    public Group findByName(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Group group = snapshot.byName.get(key);
+        if (group != null || missingNames.contains(key)) return group;
+
+        group = groupProvider.findByName(name);
+        if (group != null) {
+            add(group);
+        } else {
+            missingNames.add(key);
+        }
+        return group;
+    }
+
+    /**
+     * Gruppe mit der höchsten Priorität unter den IDs; ohne Treffer die
+     * Default-Gruppe.
+     */
+    public Group highestOf(Collection<Integer> groupIds) {
+        Group highest = null;
+        for (int id : groupIds) {
+            Group group = findById(id);
+            if (group != null && (highest == null || group.priority() > highest.priority())) {
+                highest = group;
+            }
+        }
+        return highest != null ? highest : defaultGroup();
+    }
+
+    public Group defaultGroup() {
+        for (Group group : snapshot.byId.values()) {
+            if (group.isDefault()) return group;
+        }
+        return findById(DEFAULT_GROUP_ID);
+    }
+
+    public Collection<Group> all() {
+        return Collections.unmodifiableCollection(snapshot.byId.values());
+    }
+
+    // ========================================================================
+    // Intern
+    // ========================================================================
+
+    private synchronized void add(Group group) {
+        Map<Integer, Group> byId = new HashMap<>(snapshot.byId);
+        byId.put(group.id(), group);
+        snapshot = build(byId);
+        missingIds.remove(group.id());
+        if (group.groupName() != null) {
+            missingNames.remove(group.groupName().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static Snapshot build(Map<Integer, Group> byId) {
+        Map<String, Group> byName = new HashMap<>();
+        for (Group group : byId.values()) {
+            if (group.groupName() != null) {
+                byName.put(group.groupName().toLowerCase(Locale.ROOT), group);
+            }
+        }
+        return new Snapshot(Map.copyOf(byId), Map.copyOf(byName));
+    }
+}
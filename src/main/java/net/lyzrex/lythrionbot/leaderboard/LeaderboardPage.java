@@ -0,0 +1,33 @@
+package net.lyzrex.lythrionbot.leaderboard;
+
+import net.lyzrex.lythrionbot.db.SyntrixRepository;
+
+import java.util.List;
+
+/**
+ * Eine Seite einer Rangliste, fertig gerendert.
+ *
+ * @param type        Rangliste
+ * @param page        Seitennummer ab 1 (bestimmt die angezeigten Plätze)
+ * @param entries     Einträge der Seite, absteigend sortiert
+ * @param rendered    Embed-Beschreibung
+ * @param hasPrevious ob es eine Seite davor gibt
+ * @param hasNext     ob es eine Seite danach gibt
+ * @param refreshedAt Stand der Daten (epoch ms)
+ */
+public record LeaderboardPage(LeaderboardType type,
+                              int page,
+                              List<SyntrixRepository.LeaderboardEntry> entries,
+                              String rendered,
+                              boolean hasPrevious,
+                              boolean hasNext,
+                              long refreshedAt) {
+
+    public LeaderboardPage {
+        entries = List.copyOf(entries);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
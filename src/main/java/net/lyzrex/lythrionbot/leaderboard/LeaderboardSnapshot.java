@@ -0,0 +1,27 @@
+package net.lyzrex.lythrionbot.leaderboard;
+
+import net.lyzrex.lythrionbot.db.SyntrixRepository;
+
+import java.util.List;
+
+/**
+ * Unveränderlicher Stand einer Rangliste inklusive fertig gerendertem Text.
+ *
+ * @param type        Rangliste
+ * @param entries     Top N, absteigend sortiert
+ * @param rendered    Embed-Beschreibung der ersten Seite (Medaillen, Platz, Name, Wert)
+ * @param refreshedAt Zeitpunkt der Abfrage (epoch ms)
+ */
+public record LeaderboardSnapshot(LeaderboardType type,
+                                  List<SyntrixRepository.LeaderboardEntry> entries,
+                                  String rendered,
+                                  long refreshedAt) {
+
+    public LeaderboardSnapshot {
+        entries = List.copyOf(entries);
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
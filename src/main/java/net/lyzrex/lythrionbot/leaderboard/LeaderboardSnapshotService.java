@@ -0,0 +1,228 @@
+package net.lyzrex.lythrionbot.leaderboard;
+
+import net.lyzrex.lythrionbot.db.SyntrixRepository;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hält für jede registrierte Rangliste einen fertigen Snapshot der Top N im
+ * Speicher und erneuert ihn im Hintergrund. /leaderboard liest nur noch den
+ * Snapshot, die teuren Sortier-Queries laufen einmal pro Intervall.
+ *
+ * Blättern ist zustandslos: der Aufrufer übergibt den Rand-Eintrag der
+ * aktuellen Seite als Cursor. Liegt die Zielseite komplett im Snapshot, wird
+ * sie von dort bedient, sonst per Keyset-Query (gleich teuer für jede Seite).
+ */
+public class LeaderboardSnapshotService {
+
+    private final int size;
+    private final int pageSize;
+    private final Map<LeaderboardType, LeaderboardSource> sources = new EnumMap<>(LeaderboardType.class);
+    private final Map<LeaderboardType, LeaderboardSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService pageExecutor;
+
+    public LeaderboardSnapshotService(int size, int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+        // Eine Seite plus ein Eintrag, damit "Weiter" auf Seite 1 bekannt ist
+        this.size = Math.max(this.pageSize + 1, size);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "leaderboard-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        this.pageExecutor = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "leaderboard-page");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Registriert die Datenquelle einer Rangliste.
+     * Muss vor {@link #start(long)} passieren.
+     */
+    public void register(LeaderboardType type, LeaderboardSource source) {
+        sources.put(type, source);
+    }
+
+    /**
+     * Erster Refresh sofort (im Hintergrund), danach alle intervalMs.
+     */
+    public void start(long intervalMs) {
+        scheduler.scheduleWithFixedDelay(this::refreshAll, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pageExecutor.shutdownNow();
+    }
+
+    /**
+     * @return letzter Snapshot oder null, wenn die Rangliste noch nie geladen wurde
+     */
+    public LeaderboardSnapshot get(LeaderboardType type) {
+        return snapshots.get(type);
+    }
+
+    /**
+     * Lädt eine Seite.
+     *
+     * @param page   Nummer der Zielseite (nur für die angezeigten Plätze)
+     * @param cursor null = erste Seite; sonst letzter Eintrag der aktuellen
+     *               Seite (weiter) bzw. erster Eintrag (zurück, before = true)
+     */
+    public CompletableFuture<LeaderboardPage> page(LeaderboardType type, int page,
+                                                   SyntrixRepository.LeaderboardCursor cursor, boolean before) {
+        LeaderboardSource source = sources.get(type);
+        if (source == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown leaderboard " + type.getId()));
+        }
+
+        LeaderboardSnapshot snapshot = snapshots.get(type);
+        if (snapshot != null) {
+            LeaderboardPage cached = fromSnapshot(snapshot, page, cursor, before);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> load(type, source, page, cursor, before), pageExecutor);
+    }
+
+    public boolean isRegistered(LeaderboardType type) {
+        return sources.containsKey(type);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    // ========================================================================
+    // Intern
+    // ========================================================================
+
+    private void refreshAll() {
+        for (Map.Entry<LeaderboardType, LeaderboardSource> e : sources.entrySet()) {
+            refresh(e.getKey(), e.getValue());
+        }
+    }
+
+    private void refresh(LeaderboardType type, LeaderboardSource source) {
+        try {
+            List<SyntrixRepository.LeaderboardEntry> entries = source.page(null, false, size);
+            String rendered = render(type, entries.subList(0, Math.min(pageSize, entries.size())), 1);
+            snapshots.put(type, new LeaderboardSnapshot(type, entries, rendered, System.currentTimeMillis()));
+        } catch (Exception ex) {
+            // Alten Snapshot behalten
+            System.err.println("[LeaderboardSnapshotService] Failed to refresh " + type.getId() + " leaderboard: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * @return die Seite aus dem Snapshot oder null, wenn sie nicht vollständig darin liegt
+     */
+    private LeaderboardPage fromSnapshot(LeaderboardSnapshot snapshot, int page,
+                                         SyntrixRepository.LeaderboardCursor cursor, boolean before) {
+        List<SyntrixRepository.LeaderboardEntry> all = snapshot.entries();
+        // Weniger als angefragt -> die Rangliste liegt komplett im Speicher
+        boolean complete = all.size() < size;
+
+        int from = 0;
+        if (cursor != null) {
+            int index = indexOf(all, cursor);
+            if (index < 0) return null;
+            from = before ? Math.max(0, index - pageSize) : index + 1;
+        }
+        int to = from + pageSize;
+        // Einen Eintrag mehr brauchen wir, um "Weiter" zu kennen
+        if (to >= all.size() && !complete) return null;
+
+        if (from == 0) page = 1;
+        List<SyntrixRepository.LeaderboardEntry> entries = all.subList(Math.min(from, all.size()), Math.min(to, all.size()));
+        // Seite 1 ist beim Refresh schon gerendert worden
+        String rendered = from == 0 ? snapshot.rendered() : render(snapshot.type(), entries, rankOf(page));
+        return new LeaderboardPage(snapshot.type(), page, entries, rendered,
+                from > 0, to < all.size(), snapshot.refreshedAt());
+    }
+
+    private LeaderboardPage load(LeaderboardType type, LeaderboardSource source, int page,
+                                 SyntrixRepository.LeaderboardCursor cursor, boolean before) {
+        List<SyntrixRepository.LeaderboardEntry> entries;
+        boolean hasPrevious;
+        boolean hasNext;
+
+        if (cursor != null && before) {
+            entries = new ArrayList<>(source.page(cursor, true, pageSize + 1));
+            hasPrevious = entries.size() > pageSize;
+            if (hasPrevious) {
+                entries.remove(0);
+            }
+            hasNext = true;
+            if (!hasPrevious && entries.size() < pageSize) {
+                // Oben angekommen (Rangliste hat sich verschoben) -> Seite 1 neu laden
+                cursor = null;
+            }
+        } else {
+            entries = new ArrayList<>();
+            hasPrevious = false;
+            hasNext = false;
+        }
+
+        if (cursor == null || !before) {
+            entries = new ArrayList<>(source.page(cursor, false, pageSize + 1));
+            if (entries.isEmpty() && cursor != null) {
+                // Hinter dem Cursor ist niemand mehr (Rangliste hat sich verschoben) -> Seite 1
+                cursor = null;
+                entries = new ArrayList<>(source.page(null, false, pageSize + 1));
+            }
+            hasNext = entries.size() > pageSize;
+            if (hasNext) {
+                entries.remove(entries.size() - 1);
+            }
+            hasPrevious = cursor != null;
+        }
+
+        if (!hasPrevious) page = 1;
+        return new LeaderboardPage(type, page, entries, render(type, entries, rankOf(page)),
+                hasPrevious, hasNext, System.currentTimeMillis());
+    }
+
+    private int rankOf(int page) {
+        return (Math.max(1, page) - 1) * pageSize + 1;
+    }
+
+    private static int indexOf(List<SyntrixRepository.LeaderboardEntry> entries, SyntrixRepository.LeaderboardCursor cursor) {
+        for (int i = 0; i < entries.size(); i++) {
+            SyntrixRepository.LeaderboardEntry e = entries.get(i);
+            if (e.userId() == cursor.userId() && e.value() != null && e.value().compareTo(cursor.value()) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String render(LeaderboardType type, List<SyntrixRepository.LeaderboardEntry> entries, int firstRank) {
+        StringBuilder sb = new StringBuilder();
+        int rank = firstRank;
+        for (SyntrixRepository.LeaderboardEntry e : entries) {
+            String medal = rank == 1 ? "🥇" : (rank == 2 ? "🥈" : (rank == 3 ? "🥉" : "▪️"));
+            sb.append(medal).append(" `").append(rank).append(".` **").append(e.username())
+                    .append("** — ").append(type.formatValue(e.value().doubleValue())).append("\n");
+            rank++;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package net.lyzrex.lythrionbot.leaderboard;
+
+import net.lyzrex.lythrionbot.db.SyntrixRepository;
+
+import java.util.List;
+
+/**
+ * Datenquelle einer Rangliste mit Keyset-Paging.
+ * Sortierung: Wert absteigend, bei Gleichstand User-ID aufsteigend.
+ */
+@FunctionalInterface
+public interface LeaderboardSource {
+
+    /**
+     * @param cursor null = erste Seite, sonst Rand-Eintrag der aktuellen Seite
+     * @param before true = die limit Einträge vor dem Cursor, sonst die danach
+     * @return höchstens limit Einträge, immer absteigend sortiert
+     */
+    List<SyntrixRepository.LeaderboardEntry> page(SyntrixRepository.LeaderboardCursor cursor, boolean before, int limit);
+}
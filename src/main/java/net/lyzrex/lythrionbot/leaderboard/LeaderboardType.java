@@ -0,0 +1,59 @@
+package net.lyzrex.lythrionbot.leaderboard;
+
+/**
+ * Alle Ranglisten, die /leaderboard anzeigen kann.
+ */
+public enum LeaderboardType {
+
+    LEVEL("level", "Global Level", "🏆 Lythrion Global Level Leaderboard"),
+    KILLS("kills", "Kills", "⚔️ Lythrion Kills Leaderboard"),
+    BALANCE("balance", "Balance", "💰 Lythrion Balance Leaderboard"),
+    PLAYTIME("playtime", "Playtime", "⏱️ Lythrion Playtime Leaderboard"),
+    LOGINS("logins", "Logins", "📅 Lythrion Login Leaderboard");
+
+    private final String id;
+    private final String label;
+    private final String title;
+
+    LeaderboardType(String id, String label, String title) {
+        this.id = id;
+        this.label = label;
+        this.title = title;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Formatiert den Wert eines Eintrags für die Embed-Zeile.
+     */
+    public String formatValue(double value) {
+        return switch (this) {
+            case LEVEL -> "Level " + (long) value;
+            case KILLS -> String.format("%,d kills", (long) value);
+            case BALANCE -> String.format("%,.2f$", value);
+            case PLAYTIME -> {
+                long s = (long) value;
+                yield String.format("%d:%02d:%02d", s / 3600, (s % 3600) / 60, (s % 60));
+            }
+            case LOGINS -> String.format("%,d logins", (long) value);
+        };
+    }
+
+    public static LeaderboardType fromId(String id) {
+        if (id == null) return LEVEL;
+        for (LeaderboardType type : values()) {
+            if (type.id.equalsIgnoreCase(id)) return type;
+        }
+        return LEVEL;
+    }
+}
@@ -0,0 +1,134 @@
+package net.lyzrex.lythrionbot.listener;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.guild.GuildReadyEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberJoinEvent;
+import net.dv8tion.jda.api.events.guild.member.GuildMemberRemoveEvent;
+import net.dv8tion.jda.api.events.user.update.UserUpdateNameEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index Username (klein geschrieben) -> Discord-User-IDs.
+ *
+ * {@link JDA#getUsersByName(String, boolean)} läuft bei ignoreCase linear über
+ * den kompletten User-Cache. Dieser Index wird beim Start aus den
+ * Member-Caches gefüllt und danach über Join/Leave/Namensänderung gepflegt,
+ * ein Lookup ist damit ein Hash-Zugriff. Er kennt außerdem User, die seit dem
+ * Start beigetreten sind, aber nicht (mehr) im Member-Cache liegen.
+ */
+public class DiscordUserIndex extends ListenerAdapter {
+
+    private final Map<String, Set<Long>> idsByName = new ConcurrentHashMap<>();
+    private final Map<Long, String> nameById = new ConcurrentHashMap<>();
+
+    /**
+     * Indiziert alle aktuell gecachten Member. Für den Fall, dass der Index
+     * erst nach awaitReady() registriert wird und die Ready-Events verpasst.
+     */
+    public void indexAll(JDA jda) {
+        for (Guild guild : jda.getGuilds()) {
+            index(guild);
+        }
+        System.out.println("[DiscordUserIndex] Indexed " + nameById.size() + " users.");
+    }
+
+    /**
+     * @return IDs aller User mit diesem Namen (Groß-/Kleinschreibung egal), nie null
+     */
+    public Set<Long> findIds(String username) {
+        if (username == null) return Set.of();
+        Set<Long> ids = idsByName.get(normalize(username));
+        return ids != null ? Collections.unmodifiableSet(ids) : Set.of();
+    }
+
+    /**
+     * @return irgendeine passende ID (bei Mehrdeutigkeit die kleinste) oder null
+     */
+    public Long findId(String username) {
+        Long best = null;
+        for (Long id : findIds(username)) {
+            if (best == null || id < best) best = id;
+        }
+        return best;
+    }
+
+    public int size() {
+        return nameById.size();
+    }
+
+    // ========================================================================
+    // Events
+    // ========================================================================
+
+    @Override
+    public void onGuildReady(@NotNull GuildReadyEvent event) {
+        index(event.getGuild());
+    }
+
+    @Override
+    public void onGuildMemberJoin(@NotNull GuildMemberJoinEvent event) {
+        put(event.getUser());
+    }
+
+    @Override
+    public void onGuildMemberRemove(@NotNull GuildMemberRemoveEvent event) {
+        // Nur entfernen, wenn wir den User in keiner anderen Guild mehr sehen
+        if (event.getJDA().getMutualGuilds(event.getUser()).isEmpty()) {
+            remove(event.getUser().getIdLong());
+        }
+    }
+
+    @Override
+    public void onUserUpdateName(@NotNull UserUpdateNameEvent event) {
+        put(event.getUser());
+    }
+
+    // ========================================================================
+    // Intern
+    // ========================================================================
+
+    private void index(Guild guild) {
+        guild.getMemberCache().forEach(member -> put(member.getUser()));
+    }
+
+    private void put(User user) {
+        long id = user.getIdLong();
+        String name = normalize(user.getName());
+        String previous = nameById.put(id, name);
+        if (previous != null && !previous.equals(name)) {
+            unlink(previous, id);
+        }
+        idsByName.compute(name, (key, ids) -> {
+            Set<Long> set = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            set.add(id);
+            return set;
+        });
+    }
+
+    private void remove(long id) {
+        String name = nameById.remove(id);
+        if (name != null) {
+            unlink(name, id);
+        }
+    }
+
+    private void unlink(String name, long id) {
+        idsByName.computeIfPresent(name, (key, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
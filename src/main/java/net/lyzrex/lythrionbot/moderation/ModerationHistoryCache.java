@@ -0,0 +1,177 @@
+package net.lyzrex.lythrionbot.moderation;
+
+import net.lyzrex.lythrionbot.moderation.ModerationRepository.UserRef;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hält pro User die neuesten depth Moderations-Einträge im Speicher (LRU über
+ * maxUsers User), damit Staff den Verlauf auch bei tausenden Einträgen sofort
+ * sieht.
+ *
+ * Nach jedem erfolgreichen INSERT ({@link ModerationLogWriter#addWriteListener})
+ * werden die neuen Zeilen der betroffenen, bereits gecachten User vorne an
+ * ihre Liste gehängt – im Writer-Thread, nicht im Command. Die IDs vergibt
+ * MySQL, daher holt ein einziger Query pro Batch die neuen Zeilen aller
+ * betroffenen User. Seiten, die nicht komplett im Cache liegen, gehen per
+ * Keyset-Query an die Datenbank.
+ *
+ * Ein Eintrag wird nur durch einen neueren ersetzt; ein Cache-Miss, der
+ * während eines Schreibvorgangs geladen wurde, landet gar nicht im Cache
+ * (er könnte den gerade geschriebenen Eintrag noch nicht enthalten).
+ */
+public class ModerationHistoryCache {
+
+    /**
+     * Die neuesten Einträge eines Users, neueste zuerst.
+     *
+     * @param complete true, wenn es keine älteren Einträge gibt
+     */
+    private record Recent(List<ModerationEntry> entries, boolean complete) {
+
+        long newestId() {
+            return entries.isEmpty() ? 0L : entries.get(0).getId();
+        }
+    }
+
+    private final ModerationRepository repo;
+    private final int maxUsers;
+    private final int depth;
+
+    // Zugriff nur unter "cache"
+    private final LinkedHashMap<UserRef, Recent> cache;
+    // Wird bei jeder Aktualisierung nach einem INSERT erhöht; Zugriff nur unter "cache"
+    private long writes;
+
+    public ModerationHistoryCache(ModerationRepository repo, int maxUsers, int depth) {
+        this.repo = repo;
+        this.maxUsers = Math.max(1, maxUsers);
+        this.depth = Math.max(1, depth);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UserRef, Recent> eldest) {
+                return size() > ModerationHistoryCache.this.maxUsers;
+            }
+        };
+    }
+
+    /**
+     * Eine Verlaufsseite, neueste zuerst.
+     *
+     * @param beforeId null = neueste Einträge, sonst der nextCursor der vorherigen Seite
+     */
+    public ModerationRepository.HistoryPage page(long guildId, long userId, Long beforeId, int limit) {
+        int pageSize = Math.max(1, limit);
+        UserRef key = new UserRef(guildId, userId);
+        Recent recent;
+        synchronized (cache) {
+            recent = cache.get(key);
+        }
+        if (recent == null) {
+            recent = loadOnMiss(key);
+        }
+
+        // Einträge ab Cursor aus dem Cache; reicht es nicht für eine volle Seite
+        // plus Lookahead (und gibt es ältere), fragt die Datenbank
+        List<ModerationEntry> rows = new ArrayList<>(pageSize + 1);
+        for (ModerationEntry entry : recent.entries()) {
+            if (beforeId != null && entry.getId() >= beforeId) continue;
+            rows.add(entry);
+            if (rows.size() > pageSize) break;
+        }
+        if (rows.size() > pageSize || recent.complete()) {
+            return ModerationRepository.HistoryPage.of(rows, pageSize);
+        }
+        return repo.getHistoryPage(guildId, userId, beforeId, pageSize);
+    }
+
+    /**
+     * Hängt die neuen Einträge der gecachten User unter den geschriebenen vorne an.
+     */
+    public void onWritten(List<ModerationEntry> written) {
+        // Pro gecachtem User: neueste bekannte id
+        Map<UserRef, Long> afterIds = new LinkedHashMap<>();
+        synchronized (cache) {
+            writes++;
+            for (ModerationEntry entry : written) {
+                UserRef key = new UserRef(entry.getGuildId(), entry.getUserId());
+                Recent recent = cache.get(key);
+                if (recent != null) {
+                    afterIds.putIfAbsent(key, recent.newestId());
+                }
+            }
+        }
+        if (afterIds.isEmpty()) return;
+
+        Map<UserRef, List<ModerationEntry>> fresh = new HashMap<>();
+        for (ModerationEntry entry : repo.getEntriesAfter(afterIds)) {
+            fresh.computeIfAbsent(new UserRef(entry.getGuildId(), entry.getUserId()), k -> new ArrayList<>()).add(entry);
+        }
+
+        synchronized (cache) {
+            for (Map.Entry<UserRef, List<ModerationEntry>> e : fresh.entrySet()) {
+                Recent recent = cache.get(e.getKey());
+                if (recent != null) {
+                    cache.put(e.getKey(), prepend(recent, e.getValue()));
+                }
+            }
+        }
+    }
+
+    public void invalidate(long guildId, long userId) {
+        synchronized (cache) {
+            cache.remove(new UserRef(guildId, userId));
+        }
+    }
+
+    /**
+     * Neue Einträge (neueste zuerst) vor die gecachten, auf depth gekürzt.
+     */
+    private Recent prepend(Recent recent, List<ModerationEntry> newer) {
+        long newestId = recent.newestId();
+        List<ModerationEntry> merged = new ArrayList<>(depth);
+        boolean trimmed = false;
+        for (ModerationEntry entry : newer) {
+            if (entry.getId() <= newestId) continue;
+            if (merged.size() >= depth) {
+                trimmed = true;
+                break;
+            }
+            merged.add(entry);
+        }
+        for (ModerationEntry entry : recent.entries()) {
+            if (merged.size() >= depth) {
+                trimmed = true;
+                break;
+            }
+            merged.add(entry);
+        }
+        return new Recent(List.copyOf(merged), recent.complete() && !trimmed);
+    }
+
+    private Recent loadOnMiss(UserRef key) {
+        long writesBefore;
+        synchronized (cache) {
+            writesBefore = writes;
+        }
+        ModerationRepository.HistoryPage page = repo.getHistoryPage(key.guildId(), key.userId(), null, depth);
+        Recent loaded = new Recent(page.entries(), page.nextCursor() == null);
+        synchronized (cache) {
+            // Schreibvorgang dazwischen -> nicht cachen. Läuft er erst danach,
+            // findet onWritten den Eintrag und hängt die neuen Zeilen an.
+            if (writes != writesBefore) {
+                return loaded;
+            }
+            Recent current = cache.get(key);
+            if (current != null && current.newestId() >= loaded.newestId()) {
+                return current;
+            }
+            cache.put(key, loaded);
+        }
+        return loaded;
+    }
+}
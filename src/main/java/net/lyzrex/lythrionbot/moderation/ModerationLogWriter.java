@@ -0,0 +1,337 @@
+package net.lyzrex.lythrionbot.moderation;
+
+import org.json.JSONObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Schreibt Moderations-Logs asynchron und gebündelt nach bot_moderation_logs.
+ *
+ * - Aufrufer legen den Eintrag nur in eine begrenzte Queue und warten nie auf MySQL.
+ * - Ein Hintergrund-Thread schreibt Multi-Row-INSERTs, sobald batchSize
+ *   Einträge anstehen, spätestens aber alle flushIntervalMs.
+ * - Backpressure: ist die Queue voll, geht der Eintrag direkt in die
+ *   Spill-Datei ({@link Submit#SPILLED}). Schlägt ein INSERT fehl, landet der
+ *   Batch samt Rest der Queue ebenfalls dort.
+ * - Die Spill-Datei (eine JSON-Zeile pro Eintrag) wird bei jedem Flush zuerst
+ *   nachgeschrieben. Sie wird dafür in "*.replay" umbenannt und erst nach dem
+ *   erfolgreichen INSERT gelöscht; bleibt sie nach einem Absturz liegen, wird
+ *   sie beim Start wieder übernommen (im Zweifel doppelt statt verloren).
+ */
+public class ModerationLogWriter {
+
+    /**
+     * Was mit einem übergebenen Eintrag passiert ist.
+     */
+    public enum Submit {
+        /** In der Queue, wird mit dem nächsten Batch geschrieben. */
+        QUEUED,
+        /** Queue voll oder Writer gestoppt, Eintrag liegt in der Spill-Datei. */
+        SPILLED,
+        /** Auch die Spill-Datei war nicht schreibbar, Eintrag steht nur im Log. */
+        LOST
+    }
+
+    private final ModerationRepository repo;
+    private final BlockingQueue<ModerationEntry> queue;
+    private final int batchSize;
+    private final Path spillFile;
+    private final Path replayFile;
+    private final Object spillLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final List<Consumer<List<ModerationEntry>>> writeListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService writer;
+    private volatile boolean closed;
+
+    public ModerationLogWriter(ModerationRepository repo, int capacity, int batchSize, Path spillFile) {
+        this.repo = repo;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.spillFile = spillFile;
+        this.replayFile = spillFile.resolveSibling(spillFile.getFileName() + ".replay");
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "moderation-log-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Übernimmt einen liegengebliebenen Replay-Stand und startet den periodischen Flush.
+     */
+    public void start(long flushIntervalMs) {
+        synchronized (spillLock) {
+            try {
+                if (Files.exists(replayFile)) {
+                    if (spillFile.getParent() != null) {
+                        Files.createDirectories(spillFile.getParent());
+                    }
+                    Files.write(spillFile, Files.readAllLines(replayFile, StandardCharsets.UTF_8), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    Files.delete(replayFile);
+                }
+            } catch (IOException ex) {
+                System.err.println("[ModerationLogWriter] Failed to recover " + replayFile + ": " + ex.getMessage());
+            }
+        }
+        writer.scheduleWithFixedDelay(this::flushSafely, 0, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stoppt den Writer und schreibt alles Offene (oder lagert es aus).
+     */
+    public void shutdown() {
+        closed = true;
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushSafely();
+    }
+
+    // ========================================================================
+    // Einreihen
+    // ========================================================================
+
+    public Submit logWarn(long guildId, long userId, long moderatorId, String reason) {
+        return submit(guildId, userId, moderatorId, "WARN", reason, null);
+    }
+
+    public Submit logBan(long guildId, long userId, long moderatorId, String reason) {
+        return submit(guildId, userId, moderatorId, "BAN", reason, null);
+    }
+
+    public Submit logKick(long guildId, long userId, long moderatorId, String reason) {
+        return submit(guildId, userId, moderatorId, "KICK", reason, null);
+    }
+
+    public Submit logTimeout(long guildId, long userId, long moderatorId, String reason, long durationSeconds) {
+        return submit(guildId, userId, moderatorId, "TIMEOUT", reason, durationSeconds);
+    }
+
+    private Submit submit(long guildId, long userId, long moderatorId, String action, String reason, Long durationSeconds) {
+        return submit(new ModerationEntry(0L, guildId, userId, moderatorId, action, reason, durationSeconds,
+                Instant.now().getEpochSecond()));
+    }
+
+    /**
+     * Reiht einen Eintrag ein, ohne zu blockieren.
+     */
+    public Submit submit(ModerationEntry entry) {
+        if (!closed && queue.offer(entry)) {
+            if (queue.size() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+                try {
+                    writer.execute(this::flushSafely);
+                } catch (RejectedExecutionException ex) {
+                    flushScheduled.set(false);
+                }
+            }
+            return Submit.QUEUED;
+        }
+        // Queue voll -> nicht warten, sondern auf Platte ausweichen
+        return spill(List.of(entry)) ? Submit.SPILLED : Submit.LOST;
+    }
+
+    /**
+     * Wird nach jedem erfolgreichen INSERT mit den geschriebenen Einträgen
+     * aufgerufen (im Writer-Thread).
+     */
+    public void addWriteListener(Consumer<List<ModerationEntry>> listener) {
+        writeListeners.add(listener);
+    }
+
+    public int getQueued() {
+        return queue.size();
+    }
+
+    // ========================================================================
+    // Flush
+    // ========================================================================
+
+    /**
+     * Schreibt erst die Spill-Datei, dann die Queue in Batches. Ist MySQL nicht
+     * erreichbar, wird die Queue komplett ausgelagert.
+     */
+    public void flush() {
+        flushScheduled.set(false);
+        if (!replaySpill()) {
+            spillQueue();
+            return;
+        }
+
+        List<ModerationEntry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                insert(batch);
+            } catch (RuntimeException ex) {
+                System.err.println("[ModerationLogWriter] Insert of " + batch.size() + " logs failed, spilling to disk: " + ex.getMessage());
+                spill(batch);
+                spillQueue();
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void insert(List<ModerationEntry> batch) {
+        repo.insertLogs(batch);
+        for (Consumer<List<ModerationEntry>> listener : writeListeners) {
+            try {
+                listener.accept(batch);
+            } catch (Exception ex) {
+                System.err.println("[ModerationLogWriter] Write listener failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception ex) {
+            System.err.println("[ModerationLogWriter] Flush failed: " + ex.getMessage());
+        }
+    }
+
+    private void spillQueue() {
+        List<ModerationEntry> rest = new ArrayList<>(queue.size());
+        queue.drainTo(rest);
+        spill(rest);
+    }
+
+    // ========================================================================
+    // Spill-Datei
+    // ========================================================================
+
+    /**
+     * Hängt Einträge an die Spill-Datei an.
+     *
+     * @return false, wenn nicht geschrieben werden konnte (Einträge gehen dann nach stderr)
+     */
+    private boolean spill(List<ModerationEntry> entries) {
+        if (entries.isEmpty()) return true;
+        synchronized (spillLock) {
+            try {
+                if (spillFile.getParent() != null) {
+                    Files.createDirectories(spillFile.getParent());
+                }
+                try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (ModerationEntry entry : entries) {
+                        out.write(toJson(entry).toString());
+                        out.newLine();
+                    }
+                }
+                return true;
+            } catch (IOException ex) {
+                System.err.println("[ModerationLogWriter] Failed to spill " + entries.size() + " logs: " + ex.getMessage());
+                for (ModerationEntry entry : entries) {
+                    System.err.println("[ModerationLogWriter] LOST " + toJson(entry));
+                }
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Schreibt die Spill-Datei nach MySQL.
+     *
+     * @return true, wenn danach nichts mehr ausgelagert ist
+     */
+    private boolean replaySpill() {
+        List<String> lines;
+        synchronized (spillLock) {
+            if (!Files.exists(spillFile)) return true;
+            try {
+                // Umbenennen, damit neue Spills während des INSERTs nicht warten müssen
+                Files.move(spillFile, replayFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                lines = Files.readAllLines(replayFile, StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                System.err.println("[ModerationLogWriter] Failed to read spill file: " + ex.getMessage());
+                return false;
+            }
+        }
+
+        List<ModerationEntry> entries = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            if (line.isBlank()) continue;
+            try {
+                entries.add(fromJson(new JSONObject(line)));
+            } catch (Exception ex) {
+                System.err.println("[ModerationLogWriter] Skipping corrupt spill line: " + line);
+            }
+        }
+
+        int written = 0;
+        try {
+            for (int i = 0; i < entries.size(); i += batchSize) {
+                int end = Math.min(entries.size(), i + batchSize);
+                insert(entries.subList(i, end));
+                written = end;
+            }
+        } catch (RuntimeException ex) {
+            // Rest zurück in die Spill-Datei, der nächste Flush versucht es erneut
+            if (!spill(entries.subList(written, entries.size()))) return false;
+            deleteReplayFile();
+            return false;
+        }
+
+        deleteReplayFile();
+        if (written > 0) {
+            System.out.println("[ModerationLogWriter] Replayed " + written + " spilled moderation logs.");
+        }
+        return true;
+    }
+
+    private void deleteReplayFile() {
+        try {
+            Files.deleteIfExists(replayFile);
+        } catch (IOException ex) {
+            System.err.println("[ModerationLogWriter] Failed to delete " + replayFile + ": " + ex.getMessage());
+        }
+    }
+
+    private static JSONObject toJson(ModerationEntry entry) {
+        JSONObject json = new JSONObject();
+        json.put("guild_id", entry.getGuildId());
+        json.put("user_id", entry.getUserId());
+        json.put("moderator_id", entry.getModeratorId());
+        json.put("action", entry.getAction());
+        json.put("reason", entry.getReason() != null ? entry.getReason() : JSONObject.NULL);
+        json.put("duration_seconds", entry.getDurationSeconds() != null ? entry.getDurationSeconds() : JSONObject.NULL);
+        json.put("created_at", entry.getCreatedAtEpoch());
+        return json;
+    }
+
+    private static ModerationEntry fromJson(JSONObject json) {
+        return new ModerationEntry(
+                0L,
+                json.getLong("guild_id"),
+                json.getLong("user_id"),
+                json.getLong("moderator_id"),
+                json.getString("action"),
+                json.isNull("reason") ? null : json.getString("reason"),
+                json.isNull("duration_seconds") ? null : json.getLong("duration_seconds"),
+                json.getLong("created_at")
+        );
+    }
+}
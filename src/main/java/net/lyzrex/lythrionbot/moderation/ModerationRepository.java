@@ -4,8 +4,9 @@ import de.murmelmeister.library.database.Database;
 import de.murmelmeister.library.database.ResultSetProcessor;
 
 import java.sql.Types;
-import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class ModerationRepository {
 
@@ -28,99 +29,190 @@ public class ModerationRepository {
                   reason           TEXT,
                   duration_seconds BIGINT      NULL,
                   created_at       TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
-                  INDEX idx_mod_user (guild_id, user_id)
+                  INDEX idx_mod_user_id (guild_id, user_id, id)
                 )
                 """;
 
         // Nutzt database.update() zur Erstellung der Tabelle
         try {
             database.update(sql);
+            migrateHistoryIndex();
         } catch (Exception e) {
             System.err.println("[ModerationRepository] Failed to init table: " + e.getMessage());
         }
     }
 
-    public void logWarn(long guildId, long userId, long moderatorId, String reason) {
-        insertLog(guildId, userId, moderatorId, "WARN", reason, null);
-    }
-
-    public void logBan(long guildId, long userId, long moderatorId, String reason) {
-        insertLog(guildId, userId, moderatorId, "BAN", reason, null);
+    /**
+     * Ältere Tabellen haben nur (guild_id, user_id): ORDER BY id DESC musste dann
+     * alle Zeilen des Users sortieren. Mit (guild_id, user_id, id) ist jede
+     * Verlaufsseite ein Index-Range-Scan; der alte Index ist ein Präfix davon
+     * und wird entfernt.
+     */
+    private void migrateHistoryIndex() {
+        if (!indexExists("idx_mod_user_id")) {
+            database.update("CREATE INDEX idx_mod_user_id ON " + TABLE_NAME + " (guild_id, user_id, id)");
+            System.out.println("[ModerationRepository] Created index idx_mod_user_id.");
+        }
+        if (indexExists("idx_mod_user")) {
+            database.update("DROP INDEX idx_mod_user ON " + TABLE_NAME);
+        }
     }
 
-    public void logTimeout(long guildId, long userId, long moderatorId, String reason, long durationSeconds) {
-        insertLog(guildId, userId, moderatorId, "TIMEOUT", reason, durationSeconds);
+    private boolean indexExists(String index) {
+        return database.exists(
+                "SELECT 1 FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND INDEX_NAME = ?",
+                ps -> {
+                    ps.setString(1, TABLE_NAME);
+                    ps.setString(2, index);
+                }
+        );
     }
 
-    private void insertLog(long guildId,
-                           long userId,
-                           long moderatorId,
-                           String action,
-                           String reason,
-                           Long durationSeconds) {
-        String sql = """
-                INSERT INTO bot_moderation_logs
-                  (guild_id, user_id, moderator_id, action, reason, duration_seconds, created_at)
-                VALUES (?, ?, ?, ?, ?, ?, FROM_UNIXTIME(?))
-                """;
+    /**
+     * Schreibt mehrere Logs mit einem Multi-Row-INSERT. Fehler werden nicht
+     * geschluckt, damit der {@link ModerationLogWriter} die Zeilen behalten kann.
+     */
+    public void insertLogs(List<ModerationEntry> entries) {
+        if (entries.isEmpty()) return;
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO bot_moderation_logs (guild_id, user_id, moderator_id, action, reason, duration_seconds, created_at) VALUES ");
+        for (int i = 0; i < entries.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?, FROM_UNIXTIME(?))" : ", (?, ?, ?, ?, ?, ?, FROM_UNIXTIME(?))");
+        }
 
-        // Nutzt database.update() zur transaktionalen Ausführung
-        try {
-            database.update(sql, ps -> {
-                ps.setLong(1, guildId);
-                ps.setLong(2, userId);
-                ps.setLong(3, moderatorId);
-                ps.setString(4, action);
-                ps.setString(5, reason);
-                if (durationSeconds == null) {
-                    ps.setNull(6, Types.BIGINT);
+        database.update(sql.toString(), ps -> {
+            int i = 1;
+            for (ModerationEntry entry : entries) {
+                ps.setLong(i++, entry.getGuildId());
+                ps.setLong(i++, entry.getUserId());
+                ps.setLong(i++, entry.getModeratorId());
+                ps.setString(i++, entry.getAction());
+                ps.setString(i++, entry.getReason());
+                if (entry.getDurationSeconds() == null) {
+                    ps.setNull(i++, Types.BIGINT);
                 } else {
-                    ps.setLong(6, durationSeconds);
+                    ps.setLong(i++, entry.getDurationSeconds());
                 }
-                // Speichert den Zeitstempel als Epoch-Sekunden
-                ps.setLong(7, Instant.now().getEpochSecond());
-            });
-        } catch (Exception e) {
-            System.err.println("[ModerationRepository] Failed to insert log: " + e.getMessage());
-        }
+                // Zeitpunkt der Aktion, nicht des Schreibens
+                ps.setLong(i++, entry.getCreatedAtEpoch());
+            }
+        });
     }
 
     public List<ModerationEntry> getHistory(long guildId, long userId, int limit) {
-        String sql = """
+        return getHistoryPage(guildId, userId, null, limit).entries();
+    }
+
+    /**
+     * Keyset-Seite des Verlaufs, neueste zuerst.
+     *
+     * @param beforeId null = neueste Einträge, sonst nur Einträge mit id &lt; beforeId
+     *                 (der {@link HistoryPage#nextCursor()} der vorherigen Seite)
+     */
+    public HistoryPage getHistoryPage(long guildId, long userId, Long beforeId, int limit) {
+        int pageSize = Math.max(1, limit);
+        String sql = beforeId == null
+                ? """
                 SELECT id, guild_id, user_id, moderator_id, action, reason, duration_seconds, created_at
                 FROM bot_moderation_logs
                 WHERE guild_id = ? AND user_id = ?
                 ORDER BY id DESC
                 LIMIT ?
+                """
+                : """
+                SELECT id, guild_id, user_id, moderator_id, action, reason, duration_seconds, created_at
+                FROM bot_moderation_logs
+                WHERE guild_id = ? AND user_id = ? AND id < ?
+                ORDER BY id DESC
+                LIMIT ?
                 """;
 
-        // Definiere den Prozessor, um die Ergebnisse in ModerationEntry zu mappen
-        ResultSetProcessor<ModerationEntry> processor = rs -> {
-            long dur = rs.getLong("duration_seconds");
-            Long durObj = rs.wasNull() ? null : dur;
-
-            return new ModerationEntry(
-                    rs.getLong("id"),
-                    rs.getLong("guild_id"),
-                    rs.getLong("user_id"),
-                    rs.getLong("moderator_id"),
-                    rs.getString("action"),
-                    rs.getString("reason"),
-                    durObj,
-                    // Nutzt getTimestamp und Instant für saubere Konvertierung zu Epoch-Sekunden
-                    rs.getTimestamp("created_at").toInstant().getEpochSecond()
-            );
-        };
-
-        // Nutzt database.queryList()
-        return database.queryList(
+        // Ein Eintrag mehr, um zu wissen, ob es eine weitere Seite gibt
+        List<ModerationEntry> rows = new ArrayList<>(database.queryList(
                 sql,
-                processor,
+                ENTRY_PROCESSOR,
                 ps -> {
-                    ps.setLong(1, guildId);
-                    ps.setLong(2, userId);
-                    ps.setInt(3, limit);
+                    int i = 1;
+                    ps.setLong(i++, guildId);
+                    ps.setLong(i++, userId);
+                    if (beforeId != null) {
+                        ps.setLong(i++, beforeId);
+                    }
+                    ps.setInt(i, pageSize + 1);
                 }
+        ));
+        return HistoryPage.of(rows, pageSize);
+    }
+
+    /**
+     * Pro User alle Einträge mit id &gt; der angegebenen id, neueste zuerst.
+     * Ein Query für beliebig viele User (nach einem Batch-INSERT).
+     */
+    public List<ModerationEntry> getEntriesAfter(Map<UserRef, Long> afterIds) {
+        if (afterIds.isEmpty()) return List.of();
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, guild_id, user_id, moderator_id, action, reason, duration_seconds, created_at " +
+                        "FROM bot_moderation_logs WHERE ");
+        for (int i = 0; i < afterIds.size(); i++) {
+            sql.append(i == 0 ? "" : " OR ").append("(guild_id = ? AND user_id = ? AND id > ?)");
+        }
+        sql.append(" ORDER BY id DESC");
+
+        return database.queryList(sql.toString(), ENTRY_PROCESSOR, ps -> {
+            int i = 1;
+            for (Map.Entry<UserRef, Long> e : afterIds.entrySet()) {
+                ps.setLong(i++, e.getKey().guildId());
+                ps.setLong(i++, e.getKey().userId());
+                ps.setLong(i++, e.getValue());
+            }
+        });
+    }
+
+    private static final ResultSetProcessor<ModerationEntry> ENTRY_PROCESSOR = rs -> {
+        long dur = rs.getLong("duration_seconds");
+        Long durObj = rs.wasNull() ? null : dur;
+
+        return new ModerationEntry(
+                rs.getLong("id"),
+                rs.getLong("guild_id"),
+                rs.getLong("user_id"),
+                rs.getLong("moderator_id"),
+                rs.getString("action"),
+                rs.getString("reason"),
+                durObj,
+                // Nutzt getTimestamp und Instant für saubere Konvertierung zu Epoch-Sekunden
+                rs.getTimestamp("created_at").toInstant().getEpochSecond()
         );
+    };
+
+    /**
+     * Ein User in einer Guild.
+     */
+    public record UserRef(long guildId, long userId) {}
+
+    /**
+     * Eine Verlaufsseite.
+     *
+     * @param entries    neueste zuerst
+     * @param nextCursor id für die nächste (ältere) Seite oder null, wenn es keine gibt
+     */
+    public record HistoryPage(List<ModerationEntry> entries, Long nextCursor) {
+
+        public HistoryPage {
+            entries = List.copyOf(entries);
+        }
+
+        /**
+         * Baut eine Seite aus bis zu limit + 1 absteigend sortierten Einträgen.
+         */
+        public static HistoryPage of(List<ModerationEntry> rows, int limit) {
+            if (rows.size() <= limit) {
+                return new HistoryPage(rows, null);
+            }
+            List<ModerationEntry> page = rows.subList(0, limit);
+            return new HistoryPage(page, page.get(limit - 1).getId());
+        }
     }
-}
\ No newline at end of file
+}
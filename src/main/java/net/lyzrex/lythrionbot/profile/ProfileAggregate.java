@@ -0,0 +1,20 @@
+package net.lyzrex.lythrionbot.profile;
+
+import de.murmelmeister.murmelapi.group.Group;
+import de.murmelmeister.murmelapi.user.User;
+import de.murmelmeister.murmelapi.user.playtime.UserPlayTime;
+import net.lyzrex.lythrionbot.db.SyntrixRepository;
+
+/**
+ * Alle Daten, die /profile für einen Spieler anzeigt.
+ *
+ * @param user         MurmelAPI-User
+ * @param playtime     Spielzeit/Logins, darf null sein
+ * @param highestGroup Rang mit der höchsten Priorität (Fallback: Default-Gruppe), darf null sein
+ * @param data         Economy, Bank, Skills und Stats aus der Syntrix-Datenbank
+ */
+public record ProfileAggregate(User user,
+                               UserPlayTime playtime,
+                               Group highestGroup,
+                               SyntrixRepository.ProfileData data) {
+}
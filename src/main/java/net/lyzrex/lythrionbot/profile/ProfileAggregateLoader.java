@@ -0,0 +1,134 @@
+package net.lyzrex.lythrionbot.profile;
+
+import de.murmelmeister.murmelapi.MurmelAPI;
+import de.murmelmeister.murmelapi.group.Group;
+import de.murmelmeister.murmelapi.user.User;
+import de.murmelmeister.murmelapi.user.UserProvider;
+import de.murmelmeister.murmelapi.user.parent.UserParent;
+import de.murmelmeister.murmelapi.user.playtime.UserPlayTime;
+import de.murmelmeister.murmelapi.user.playtime.UserPlayTimeProvider;
+import net.lyzrex.lythrionbot.db.SyntrixRepository;
+import net.lyzrex.lythrionbot.group.GroupCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lädt alles für /profile.
+ *
+ * Die unabhängigen Abfragen (Spielzeit, Syntrix-Daten, Parents) laufen
+ * gleichzeitig auf einem begrenzten Pool; die Syntrix-Daten kommen in einem
+ * einzigen Join. Die Antwortzeit ist damit die User-Suche plus die langsamste
+ * der übrigen Abfragen, nicht mehr die Summe aller.
+ */
+public class ProfileAggregateLoader {
+
+    private final UserProvider userProvider;
+    private final UserPlayTimeProvider playTimeProvider;
+    private final GroupCache groupCache;
+    private final SyntrixRepository syntrixRepository;
+    private final ExecutorService executor;
+
+    public ProfileAggregateLoader(UserProvider userProvider,
+                                  UserPlayTimeProvider playTimeProvider,
+                                  GroupCache groupCache,
+                                  SyntrixRepository syntrixRepository,
+                                  int threads) {
+        this.userProvider = userProvider;
+        this.playTimeProvider = playTimeProvider;
+        this.groupCache = groupCache;
+        this.syntrixRepository = syntrixRepository;
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "profile-loader-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * @param input Username oder Mojang-UUID
+     * @return Aggregat oder null, wenn es keinen passenden User gibt
+     */
+    public CompletableFuture<ProfileAggregate> load(String input) {
+        return findUser(input).thenCompose(user -> {
+            if (user == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return load(user);
+        });
+    }
+
+    public CompletableFuture<ProfileAggregate> load(User user) {
+        int userId = user.id();
+
+        CompletableFuture<UserPlayTime> playtime = async(() -> playTimeProvider.findByUserId(userId));
+        CompletableFuture<SyntrixRepository.ProfileData> data = async(() -> syntrixRepository.getProfileData(userId));
+        CompletableFuture<Group> group = loadHighestGroup(userId);
+
+        return CompletableFuture.allOf(playtime, data, group)
+                .thenApply(v -> new ProfileAggregate(user, playtime.join(), group.join(), data.join()));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ========================================================================
+    // Intern
+    // ========================================================================
+
+    /**
+     * Sucht per Username und – wenn die Eingabe wie eine UUID aussieht –
+     * gleichzeitig per Mojang-ID. Der Username-Treffer hat Vorrang.
+     */
+    private CompletableFuture<User> findUser(String input) {
+        CompletableFuture<User> byName = async(() -> userProvider.findByUsername(input));
+
+        UUID uuid = parseUuid(input);
+        if (uuid == null) {
+            return byName;
+        }
+
+        CompletableFuture<User> byUuid = async(() -> userProvider.findByMojangId(uuid))
+                .exceptionally(ex -> null);
+        return byName.thenCombine(byUuid, (name, id) -> name != null ? name : id);
+    }
+
+    /**
+     * Nur die Parents kommen aus der Datenbank, die Gruppen selbst aus dem
+     * {@link GroupCache}.
+     */
+    private CompletableFuture<Group> loadHighestGroup(int userId) {
+        return async(() -> {
+            List<UserParent> parents = MurmelAPI.getUserParentProvider().getParents(userId);
+            List<Integer> groupIds = new ArrayList<>();
+            if (parents != null) {
+                for (UserParent parent : parents) {
+                    groupIds.add(parent.parentId());
+                }
+            }
+            return groupCache.highestOf(groupIds);
+        });
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    private static UUID parseUuid(String input) {
+        if (input == null || input.length() != 36) return null;
+        try {
+            return UUID.fromString(input);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package net.lyzrex.lythrionbot.profile;
+
+import de.murmelmeister.murmelapi.user.User;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-Through-Cache vor dem {@link ProfileAggregateLoader}.
+ *
+ * - Ein Eintrag pro User-ID, erreichbar über Username (Groß-/Kleinschreibung
+ *   egal) und Mojang-UUID
+ * - begrenzt auf maxSize Einträge (LRU) und ttlMs Lebensdauer
+ * - gleichzeitige Anfragen für denselben Key teilen sich einen Ladevorgang
+ *
+ * Ein beliebtes Profil kostet so höchstens eine Ladung pro TTL-Fenster.
+ */
+public class ProfileCache {
+
+    public record Stats(long hits, long misses, long evictions, int size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : hits * 100.0 / total;
+        }
+    }
+
+    private record Entry(ProfileAggregate profile, long loadedAt, String nameKey, String uuidKey) {}
+
+    private final ProfileAggregateLoader loader;
+    private final int maxSize;
+    private final long ttlMs;
+
+    // User-ID -> Eintrag, Zugriffsreihenfolge für LRU; Zugriff nur unter "entries"
+    private final LinkedHashMap<Integer, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // "name:<lowercase>" / "uuid:<uuid>" -> User-ID
+    private final Map<String, Integer> aliases = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<ProfileAggregate>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ProfileCache(ProfileAggregateLoader loader, int maxSize, long ttlMs) {
+        this.loader = loader;
+        this.maxSize = Math.max(1, maxSize);
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * Alle gleichzeitigen Aufrufer teilen sich einen Ladevorgang, bekommen aber
+     * jeweils eine eigene abhängige Kopie – ein orTimeout() oder cancel() eines
+     * Aufrufers trifft weder die anderen noch den Cache.
+     *
+     * @param input Username oder Mojang-UUID
+     * @return Profil oder null, wenn es keinen passenden User gibt
+     */
+    public CompletableFuture<ProfileAggregate> get(String input) {
+        String key = keyOf(input);
+
+        ProfileAggregate cached = lookup(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        // Single-Flight: nur der erste Aufrufer startet das Laden
+        CompletableFuture<ProfileAggregate> created = new CompletableFuture<>();
+        CompletableFuture<ProfileAggregate> running = inFlight.putIfAbsent(key, created);
+        if (running != null) {
+            hits.incrementAndGet(); // kein eigener DB-Roundtrip
+            return running.copy();
+        }
+
+        misses.incrementAndGet();
+        loader.load(input).whenComplete((profile, ex) -> {
+            if (ex == null && profile != null) {
+                store(profile);
+            }
+            inFlight.remove(key, created);
+            if (ex != null) {
+                created.completeExceptionally(ex);
+            } else {
+                created.complete(profile);
+            }
+        });
+        return created.copy();
+    }
+
+    // ========================================================================
+    // Invalidierung
+    // ========================================================================
+
+    /**
+     * Entfernt das Profil eines Users nach einer Änderung durch den Bot (z.B.
+     * /language). Änderungen auf der Spielseite laufen über die TTL aus.
+     */
+    public void invalidate(int userId) {
+        synchronized (entries) {
+            Entry entry = entries.remove(userId);
+            if (entry != null) {
+                removeAliases(entry, userId);
+            }
+        }
+    }
+
+    public Stats getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new Stats(hits.get(), misses.get(), evictions.get(), size);
+    }
+
+    // ========================================================================
+    // Intern
+    // ========================================================================
+
+    private ProfileAggregate lookup(String key) {
+        Integer userId = aliases.get(key);
+        if (userId == null) return null;
+
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry == null) {
+                aliases.remove(key, userId);
+                return null;
+            }
+            if (System.currentTimeMillis() - entry.loadedAt > ttlMs) {
+                entries.remove(userId);
+                removeAliases(entry, userId);
+                evictions.incrementAndGet();
+                return null;
+            }
+            return entry.profile;
+        }
+    }
+
+    private void store(ProfileAggregate profile) {
+        User user = profile.user();
+        int userId = user.id();
+        String nameKey = user.username() != null ? nameKey(user.username()) : null;
+        String uuidKey = user.mojangId() != null ? uuidKey(user.mojangId()) : null;
+
+        synchronized (entries) {
+            Entry previous = entries.put(userId, new Entry(profile, System.currentTimeMillis(), nameKey, uuidKey));
+            if (previous != null) {
+                removeAliases(previous, userId);
+            }
+            if (nameKey != null) aliases.put(nameKey, userId);
+            if (uuidKey != null) aliases.put(uuidKey, userId);
+
+            // Größenlimit: am längsten nicht benutzte Einträge raus
+            Iterator<Map.Entry<Integer, Entry>> it = entries.entrySet().iterator();
+            while (entries.size() > maxSize && it.hasNext()) {
+                Map.Entry<Integer, Entry> eldest = it.next();
+                it.remove();
+                removeAliases(eldest.getValue(), eldest.getKey());
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    private void removeAliases(Entry entry, int userId) {
+        if (entry.nameKey != null) aliases.remove(entry.nameKey, userId);
+        if (entry.uuidKey != null) aliases.remove(entry.uuidKey, userId);
+    }
+
+    private static String keyOf(String input) {
+        String trimmed = input.trim();
+        if (trimmed.length() == 36) {
+            try {
+                return uuidKey(UUID.fromString(trimmed));
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        return nameKey(trimmed);
+    }
+
+    private static String nameKey(String username) {
+        return "name:" + username.toLowerCase(Locale.ROOT);
+    }
+
+    private static String uuidKey(UUID uuid) {
+        return "uuid:" + uuid;
+    }
+}
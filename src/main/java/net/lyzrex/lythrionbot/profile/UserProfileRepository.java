@@ -4,6 +4,8 @@ import de.murmelmeister.library.database.Database;
 import de.murmelmeister.library.database.ResultSetProcessor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -84,4 +86,48 @@ public class UserProfileRepository {
                 stmt -> stmt.setInt(1, limit)
         );
     }
-}
\ No newline at end of file
+
+    // Keyset-Paging: Wert absteigend, bei Gleichstand id aufsteigend.
+    // cursorValue == null -> erste Seite; before -> Seite vor dem Cursor.
+
+    public List<UserProfile> findPageByPlaytime(Long cursorValue, long cursorId, boolean before, int limit) {
+        return findPage("playtime_seconds", cursorValue, cursorId, before, limit);
+    }
+
+    public List<UserProfile> findPageByLoginCount(Long cursorValue, long cursorId, boolean before, int limit) {
+        return findPage("login_count", cursorValue, cursorId, before, limit);
+    }
+
+    private List<UserProfile> findPage(String column, Long cursorValue, long cursorId, boolean before, int limit) {
+        String select = "SELECT id, uuid, username, language_id, playtime_seconds, login_count, debug_enabled, first_login " +
+                "FROM " + TABLE_NAME + " ";
+
+        if (cursorValue == null) {
+            return database.queryList(
+                    select + "ORDER BY " + column + " DESC, id ASC LIMIT ?",
+                    PROFILE_PROCESSOR,
+                    stmt -> stmt.setInt(1, limit)
+            );
+        }
+
+        String sql = before
+                ? select + "WHERE " + column + " > ? OR (" + column + " = ? AND id < ?) " +
+                  "ORDER BY " + column + " ASC, id DESC LIMIT ?"
+                : select + "WHERE " + column + " < ? OR (" + column + " = ? AND id > ?) " +
+                  "ORDER BY " + column + " DESC, id ASC LIMIT ?";
+        List<UserProfile> page = new ArrayList<>(database.queryList(
+                sql,
+                PROFILE_PROCESSOR,
+                stmt -> {
+                    stmt.setLong(1, cursorValue);
+                    stmt.setLong(2, cursorValue);
+                    stmt.setLong(3, cursorId);
+                    stmt.setInt(4, limit);
+                }
+        ));
+        if (before) {
+            Collections.reverse(page);
+        }
+        return page;
+    }
+}
@@ -0,0 +1,142 @@
+package net.lyzrex.lythrionbot.status;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Circuit Breaker für ein einzelnes Status-Target.
+ *
+ * - CLOSED: Requests laufen normal; nach failureThreshold Fehlern in Folge -> OPEN
+ * - OPEN: keine Requests, bis die Backoff-Zeit abgelaufen ist -> HALF_OPEN
+ * - HALF_OPEN: genau ein Probe-Request; Erfolg -> CLOSED, Fehler -> wieder OPEN
+ *
+ * Die Backoff-Zeit verdoppelt sich mit jedem erneuten Öffnen (bis maxBackoffMs)
+ * und bekommt ±20% Jitter, damit mehrere tote Targets nicht im Gleichschritt
+ * geprobt werden.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @FunctionalInterface
+    public interface TransitionListener {
+        void onTransition(String targetId, State from, State to, long retryInMs, String reason);
+    }
+
+    private static final double JITTER = 0.2;
+
+    private final String targetId;
+    private final int failureThreshold;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final TransitionListener listener;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int trips; // wie oft in Folge geöffnet, bestimmt den Backoff
+    private long openUntil;
+    private String lastFailure;
+
+    public CircuitBreaker(String targetId, int failureThreshold, long baseBackoffMs, long maxBackoffMs,
+                          TransitionListener listener) {
+        this.targetId = targetId;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.baseBackoffMs = Math.max(1, baseBackoffMs);
+        this.maxBackoffMs = Math.max(this.baseBackoffMs, maxBackoffMs);
+        this.listener = listener;
+    }
+
+    // ========================================================================
+    // Ablauf
+    // ========================================================================
+
+    /**
+     * @return true, wenn ein Request rausgehen darf
+     */
+    public boolean allowRequest(long nowMs) {
+        synchronized (this) {
+            if (state == State.CLOSED) return true;
+            if (state == State.HALF_OPEN || nowMs < openUntil) return false;
+            state = State.HALF_OPEN;
+        }
+        fire(State.OPEN, State.HALF_OPEN, 0, "backoff elapsed, probing");
+        return true;
+    }
+
+    public void onSuccess() {
+        State from;
+        synchronized (this) {
+            consecutiveFailures = 0;
+            if (state == State.CLOSED) return;
+            from = state;
+            state = State.CLOSED;
+            trips = 0;
+            openUntil = 0;
+        }
+        fire(from, State.CLOSED, 0, "recovered");
+    }
+
+    public void onFailure(long nowMs, String reason) {
+        State from;
+        long backoff;
+        synchronized (this) {
+            lastFailure = reason;
+            consecutiveFailures++;
+            if (state == State.OPEN) return;
+            if (state == State.CLOSED && consecutiveFailures < failureThreshold) return;
+
+            from = state;
+            trips++;
+            backoff = nextBackoff();
+            state = State.OPEN;
+            openUntil = nowMs + backoff;
+        }
+        fire(from, State.OPEN, backoff, reason);
+    }
+
+    // ========================================================================
+    // Abfragen
+    // ========================================================================
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    /**
+     * @return Zeitpunkt des nächsten Probe-Requests (epoch ms), 0 wenn nicht OPEN
+     */
+    public synchronized long getOpenUntil() {
+        return state == State.OPEN ? openUntil : 0;
+    }
+
+    public synchronized String getLastFailure() {
+        return lastFailure;
+    }
+
+    public String getTargetId() {
+        return targetId;
+    }
+
+    // ========================================================================
+    // Intern
+    // ========================================================================
+
+    private long nextBackoff() {
+        int shift = Math.min(trips - 1, 30);
+        long backoff = Math.min(maxBackoffMs, baseBackoffMs << shift);
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return Math.max(1, (long) (backoff * factor));
+    }
+
+    private void fire(State from, State to, long retryInMs, String reason) {
+        if (listener == null) return;
+        try {
+            listener.onTransition(targetId, from, to, retryInMs, reason);
+        } catch (Exception ex) {
+            System.err.println("[CircuitBreaker] Transition listener failed: " + ex.getMessage());
+        }
+    }
+}
@@ -3,12 +3,12 @@ package net.lyzrex.lythrionbot.status;
 import net.lyzrex.lythrionbot.ServiceType;
 import net.lyzrex.lythrionbot.ConfigManager;
 
-import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Zentraler Maintenance-Manager für alle Services.
- * Konfiguration kommt aus config.yml:
+ * Konfiguration kommt aus config.yml, ein Key pro Status-Target-ID:
  *
  * maintenance:
  *   main: false
@@ -17,27 +17,33 @@ import java.util.Map;
  */
 public final class MaintenanceManager {
 
-    private final Map<ServiceType, Boolean> flags = new EnumMap<>(ServiceType.class);
+    private final Map<String, Boolean> flags = new ConcurrentHashMap<>();
 
     public MaintenanceManager() {
-        // Defaults aus config.yml laden
-        flags.put(ServiceType.MAIN,      ConfigManager.getBoolean("maintenance.main", false));
-        flags.put(ServiceType.LOBBY,     ConfigManager.getBoolean("maintenance.lobby", false));
-        flags.put(ServiceType.CITYBUILD, ConfigManager.getBoolean("maintenance.citybuild", false));
+        // Defaults werden beim ersten Zugriff aus config.yml gelesen
     }
 
     /* --------- zentrale API --------- */
 
-    public boolean isMaintenance(ServiceType type) {
-        return flags.getOrDefault(type, false);
+    public boolean isMaintenance(String serviceId) {
+        String key = serviceId.toLowerCase();
+        return flags.computeIfAbsent(key, k -> ConfigManager.getBoolean("maintenance." + k, false));
     }
 
-    public void setMaintenance(ServiceType type, boolean enabled) {
-        flags.put(type, enabled);
+    public void setMaintenance(String serviceId, boolean enabled) {
+        flags.put(serviceId.toLowerCase(), enabled);
         // Optional: zurück in config.yml schreiben, wenn du persistieren willst
         // z.B. ConfigManager.setBoolean("maintenance." + key, enabled);
     }
 
+    public boolean isMaintenance(ServiceType type) {
+        return isMaintenance(type.name());
+    }
+
+    public void setMaintenance(ServiceType type, boolean enabled) {
+        setMaintenance(type.name(), enabled);
+    }
+
     /* --------- Convenience-Methoden --------- */
 
     public boolean isMain() {
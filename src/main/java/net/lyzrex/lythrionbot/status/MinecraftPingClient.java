@@ -0,0 +1,461 @@
+package net.lyzrex.lythrionbot.status;
+
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Nativer Client für das Minecraft Java "Server List Ping" Protokoll
+ * (Handshake -> Status Request -> Ping/Pong), ohne Umweg über mcstatus.io.
+ *
+ * Alle Verbindungen laufen non-blocking über einen einzigen Selector-Thread,
+ * es wird also kein Thread pro Abfrage geparkt. Jede Abfrage hat ein
+ * Connect-Timeout und ein Gesamt-Timeout; bei Fehler oder Timeout schlägt
+ * das Future fehl.
+ */
+public final class MinecraftPingClient implements AutoCloseable {
+
+    // -1 = "egal", wird von allen aktuellen Servern für Status-Abfragen akzeptiert
+    private static final int PROTOCOL_VERSION = -1;
+    private static final int MAX_PACKET_SIZE = 256 * 1024;
+
+    public record PingResult(boolean online, int playersOnline, int playersMax, String version, long pingMs) {}
+
+    private final Selector selector;
+    private final Thread ioThread;
+    // DNS-Auflösung blockiert -> eigener kleiner Pool, weder Aufrufer noch Selector warten darauf
+    private final ExecutorService resolver;
+    private final Queue<Connection> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    public MinecraftPingClient() throws IOException {
+        this.selector = Selector.open();
+        this.ioThread = new Thread(this::loop, "slp-selector");
+        this.ioThread.setDaemon(true);
+        this.ioThread.start();
+        AtomicInteger counter = new AtomicInteger();
+        this.resolver = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "slp-resolver-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Pingt einen Server. Die Adresse wird im Resolver-Pool aufgelöst, alles
+     * Weitere passiert im Selector-Thread; der Aufrufer blockiert nie. Das
+     * Future schlägt spätestens timeoutMs nach dem Aufruf fehl, egal ob es
+     * noch in der Auflösung, in der Queue oder im Selector hängt.
+     */
+    public CompletableFuture<PingResult> ping(String host, int port, long connectTimeoutMs, long timeoutMs) {
+        CompletableFuture<PingResult> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new IOException("Ping client is closed"));
+            return future;
+        }
+
+        // Gesamt-Deadline unabhängig vom Stadium (auch bei hängendem DNS)
+        CompletableFuture.delayedExecutor(timeoutMs, TimeUnit.MILLISECONDS).execute(() ->
+                future.completeExceptionally(new IOException("Timed out for " + host + ":" + port)));
+
+        long now = System.currentTimeMillis();
+        long connectDeadline = now + Math.min(connectTimeoutMs, timeoutMs);
+        long deadline = now + timeoutMs;
+        try {
+            resolver.execute(new Resolve(host, port, future, connectDeadline, deadline));
+        } catch (RejectedExecutionException ex) {
+            future.completeExceptionally(new IOException("Ping client is closed"));
+        }
+        return future;
+    }
+
+    /**
+     * false, sobald der Client geschlossen oder der Selector-Loop gestorben ist.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        stopResolver();
+        selector.wakeup();
+    }
+
+    /**
+     * Stoppt den Resolver-Pool und lässt die noch wartenden Auflösungen fehlschlagen.
+     */
+    private void stopResolver() {
+        for (Runnable queued : resolver.shutdownNow()) {
+            if (queued instanceof Resolve resolve) {
+                resolve.future.completeExceptionally(new IOException("Ping client is closed"));
+            }
+        }
+    }
+
+    /**
+     * Löst die Adresse im Resolver-Pool auf und übergibt die Verbindung an den Selector.
+     */
+    private final class Resolve implements Runnable {
+        private final String host;
+        private final int port;
+        private final CompletableFuture<PingResult> future;
+        private final long connectDeadline;
+        private final long deadline;
+
+        private Resolve(String host, int port, CompletableFuture<PingResult> future, long connectDeadline, long deadline) {
+            this.host = host;
+            this.port = port;
+            this.future = future;
+            this.connectDeadline = connectDeadline;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void run() {
+            if (future.isDone()) return; // schon abgelaufen
+            InetSocketAddress address = new InetSocketAddress(host, port);
+            if (address.isUnresolved()) {
+                future.completeExceptionally(new IOException("Unknown host: " + host));
+                return;
+            }
+            Connection conn = new Connection(address, host, port, future, connectDeadline, deadline);
+            pending.add(conn);
+            // Der Loop setzt running vor dem Leeren von pending zurück: entweder
+            // leert er die Verbindung noch mit, oder wir sehen hier !running
+            if (!running) {
+                conn.fail(new IOException("Ping client is closed"));
+                return;
+            }
+            selector.wakeup();
+        }
+    }
+
+    // ========================================================================
+    // Selector-Loop
+    // ========================================================================
+
+    private void loop() {
+        try {
+            while (running) {
+                registerPending();
+                selector.select(nextTimeout());
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    Connection conn = (Connection) key.attachment();
+                    try {
+                        conn.handle(key);
+                    } catch (Exception ex) {
+                        conn.fail(ex);
+                    }
+                }
+
+                expireTimedOut();
+            }
+        } catch (IOException | ClosedSelectorException ex) {
+            System.err.println("[MinecraftPingClient] Selector loop stopped: " + ex.getMessage());
+        } finally {
+            running = false;
+            stopResolver();
+            for (SelectionKey key : selector.keys()) {
+                ((Connection) key.attachment()).fail(new IOException("Ping client is closed"));
+            }
+            Connection conn;
+            while ((conn = pending.poll()) != null) {
+                conn.fail(new IOException("Ping client is closed"));
+            }
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void registerPending() {
+        Connection conn;
+        while ((conn = pending.poll()) != null) {
+            try {
+                conn.open(selector);
+            } catch (Exception ex) {
+                conn.fail(ex);
+            }
+        }
+    }
+
+    private long nextTimeout() {
+        long next = Long.MAX_VALUE;
+        for (SelectionKey key : selector.keys()) {
+            next = Math.min(next, ((Connection) key.attachment()).currentDeadline());
+        }
+        if (next == Long.MAX_VALUE) return 0; // 0 = ohne Timeout warten
+        return Math.max(1, next - System.currentTimeMillis());
+    }
+
+    private void expireTimedOut() {
+        long now = System.currentTimeMillis();
+        for (SelectionKey key : selector.keys()) {
+            Connection conn = (Connection) key.attachment();
+            if (now >= conn.currentDeadline()) {
+                conn.fail(new IOException((conn.state == State.CONNECTING ? "Connect" : "Read")
+                        + " timed out for " + conn.host + ":" + conn.port));
+            }
+        }
+    }
+
+    // ========================================================================
+    // Verbindung / Protokoll
+    // ========================================================================
+
+    private enum State { CONNECTING, WRITE_STATUS, READ_STATUS, WRITE_PING, READ_PONG }
+
+    private static final class Connection {
+        private final InetSocketAddress address;
+        private final String host;
+        private final int port;
+        private final CompletableFuture<PingResult> future;
+        private final long connectDeadline;
+        private final long deadline;
+
+        private SocketChannel channel;
+        private State state = State.CONNECTING;
+        private ByteBuffer out;
+        private ByteBuffer in = ByteBuffer.allocate(1024);
+
+        private JSONObject statusJson;
+        private long statusSentAt;
+        private long statusRttMs;
+        private long pingSentAt;
+        private long pingPayload;
+
+        private Connection(InetSocketAddress address, String host, int port,
+                           CompletableFuture<PingResult> future, long connectDeadline, long deadline) {
+            this.address = address;
+            this.host = host;
+            this.port = port;
+            this.future = future;
+            this.connectDeadline = connectDeadline;
+            this.deadline = deadline;
+        }
+
+        private long currentDeadline() {
+            return state == State.CONNECTING ? connectDeadline : deadline;
+        }
+
+        private void open(Selector selector) throws IOException {
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            if (channel.connect(address)) {
+                startStatus(channel.register(selector, 0, this));
+            } else {
+                channel.register(selector, SelectionKey.OP_CONNECT, this);
+            }
+        }
+
+        private void handle(SelectionKey key) throws IOException {
+            if (key.isConnectable() && channel.finishConnect()) {
+                startStatus(key);
+                return;
+            }
+            if (key.isWritable()) {
+                channel.write(out);
+                if (!out.hasRemaining()) {
+                    state = state == State.WRITE_STATUS ? State.READ_STATUS : State.READ_PONG;
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+                return;
+            }
+            if (key.isReadable()) {
+                read(key);
+            }
+        }
+
+        private void startStatus(SelectionKey key) {
+            // Handshake (next state = 1 "status") + Status Request in einem Rutsch
+            ByteArrayOutputStream handshake = new ByteArrayOutputStream();
+            writeVarInt(handshake, 0x00);
+            writeVarInt(handshake, PROTOCOL_VERSION);
+            writeString(handshake, host);
+            handshake.write((port >>> 8) & 0xFF);
+            handshake.write(port & 0xFF);
+            writeVarInt(handshake, 1);
+
+            ByteArrayOutputStream packets = new ByteArrayOutputStream();
+            writeFrame(packets, handshake.toByteArray());
+            writeFrame(packets, new byte[]{0x00});
+
+            out = ByteBuffer.wrap(packets.toByteArray());
+            statusSentAt = System.nanoTime();
+            state = State.WRITE_STATUS;
+            key.interestOps(SelectionKey.OP_WRITE);
+        }
+
+        private void read(SelectionKey key) throws IOException {
+            if (!in.hasRemaining()) {
+                if (in.capacity() >= MAX_PACKET_SIZE + 5) {
+                    throw new IOException("Status response too large");
+                }
+                ByteBuffer bigger = ByteBuffer.allocate(Math.min(in.capacity() * 2, MAX_PACKET_SIZE + 5));
+                in.flip();
+                bigger.put(in);
+                in = bigger;
+            }
+
+            if (channel.read(in) < 0) {
+                // Manche Proxies beantworten den Ping nicht -> Status-RTT als Ping nehmen
+                if (state == State.READ_PONG && statusJson != null) {
+                    complete(statusRttMs);
+                    return;
+                }
+                throw new IOException("Connection closed by server");
+            }
+
+            byte[] frame = nextFrame();
+            if (frame == null) return;
+
+            ByteBuffer packet = ByteBuffer.wrap(frame);
+            int packetId = readVarInt(packet);
+
+            if (state == State.READ_STATUS) {
+                if (packetId != 0x00) throw new IOException("Unexpected packet id " + packetId);
+                int length = readVarInt(packet);
+                if (length < 0 || length > packet.remaining()) throw new IOException("Invalid status string");
+                statusJson = new JSONObject(new String(frame, packet.position(), length, StandardCharsets.UTF_8));
+                statusRttMs = (System.nanoTime() - statusSentAt) / 1_000_000L;
+
+                pingPayload = System.nanoTime();
+                ByteBuffer ping = ByteBuffer.allocate(10);
+                ping.put((byte) 9).put((byte) 0x01).putLong(pingPayload).flip();
+                out = ping;
+                pingSentAt = System.nanoTime();
+                state = State.WRITE_PING;
+                key.interestOps(SelectionKey.OP_WRITE);
+            } else if (state == State.READ_PONG) {
+                if (packetId != 0x01 || packet.remaining() < 8 || packet.getLong() != pingPayload) {
+                    throw new IOException("Invalid pong");
+                }
+                long pingMs = (System.nanoTime() - pingSentAt) / 1_000_000L;
+                complete(pingMs);
+            }
+        }
+
+        /**
+         * Liefert den nächsten vollständigen Frame (ohne Längenpräfix) oder null.
+         */
+        private byte[] nextFrame() throws IOException {
+            ByteBuffer view = in.duplicate().flip();
+            int length;
+            try {
+                length = readVarInt(view);
+            } catch (IncompleteException ex) {
+                return null;
+            }
+            if (length < 0 || length > MAX_PACKET_SIZE) throw new IOException("Invalid packet length " + length);
+            if (view.remaining() < length) {
+                if (in.capacity() < view.position() + length) {
+                    ByteBuffer bigger = ByteBuffer.allocate(view.position() + length);
+                    in.flip();
+                    bigger.put(in);
+                    in = bigger;
+                }
+                return null;
+            }
+
+            byte[] frame = new byte[length];
+            view.get(frame);
+            // Verarbeitete Bytes entfernen
+            in.flip().position(view.position());
+            in.compact();
+            return frame;
+        }
+
+        private void complete(long pingMs) {
+            JSONObject players = statusJson.optJSONObject("players");
+            JSONObject version = statusJson.optJSONObject("version");
+            PingResult result = new PingResult(
+                    true,
+                    players != null ? players.optInt("online", 0) : 0,
+                    players != null ? players.optInt("max", 0) : 0,
+                    version != null ? version.optString("name", "Unknown") : "Unknown",
+                    pingMs
+            );
+            closeChannel();
+            future.complete(result);
+        }
+
+        private void fail(Throwable t) {
+            closeChannel();
+            future.completeExceptionally(t);
+        }
+
+        private void closeChannel() {
+            if (channel == null) return;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // ========================================================================
+    // VarInt / String Encoding
+    // ========================================================================
+
+    private static final class IncompleteException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private IncompleteException() {
+            super("Incomplete VarInt");
+        }
+    }
+
+    static int readVarInt(ByteBuffer buf) throws IOException {
+        int value = 0;
+        for (int i = 0; i < 5; i++) {
+            if (!buf.hasRemaining()) throw new IncompleteException();
+            byte b = buf.get();
+            value |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("VarInt too big");
+    }
+
+    static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeFrame(ByteArrayOutputStream out, byte[] payload) {
+        writeVarInt(out, payload.length);
+        out.write(payload, 0, payload.length);
+    }
+}
@@ -0,0 +1,89 @@
+package net.lyzrex.lythrionbot.status;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Activity;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Setzt die Bot-Presence aus den Hintergrund-Snapshots des {@link StatusService}.
+ *
+ * Presence-Updates sind auf dem Gateway stark rate-limitiert, daher:
+ * - identische Activity wird nie erneut gesendet
+ * - zwischen zwei Sends liegt mindestens minIntervalMs
+ * - Änderungen innerhalb dieses Intervalls werden zusammengefasst,
+ *   gesendet wird am Ende nur der neueste Stand
+ */
+public final class PresenceScheduler {
+
+    private final JDA jda;
+    private final StatusService statusService;
+    private final long minIntervalMs;
+    private final ScheduledExecutorService scheduler;
+
+    // Zugriff nur unter "this"
+    private String lastSent;
+    private long lastSentAt;
+    private String pending;
+    private boolean flushScheduled;
+
+    public PresenceScheduler(JDA jda, StatusService statusService, long minIntervalMs) {
+        this.jda = jda;
+        this.statusService = statusService;
+        this.minIntervalMs = minIntervalMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "presence-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start() {
+        statusService.addRefreshListener(this::onRefresh);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // ========================================================================
+    // Intern
+    // ========================================================================
+
+    private void onRefresh() {
+        String text = statusService.buildPresenceText(statusService.currentSnapshots());
+
+        synchronized (this) {
+            if (text.equals(lastSent)) {
+                pending = null; // zurück auf den gesendeten Stand -> nichts zu tun
+                return;
+            }
+            pending = text;
+            if (flushScheduled) return;
+
+            flushScheduled = true;
+            long delay = Math.max(0, lastSentAt + minIntervalMs - System.currentTimeMillis());
+            scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        String text;
+        synchronized (this) {
+            flushScheduled = false;
+            text = pending;
+            pending = null;
+            if (text == null || text.equals(lastSent)) return;
+            lastSent = text;
+            lastSentAt = System.currentTimeMillis();
+        }
+
+        try {
+            jda.getPresence().setActivity(Activity.playing(text));
+        } catch (Exception ex) {
+            System.err.println("[PresenceScheduler] Failed to update presence: " + ex.getMessage());
+        }
+    }
+}
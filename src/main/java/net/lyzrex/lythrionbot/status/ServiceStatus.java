@@ -1,23 +1,21 @@
 package net.lyzrex.lythrionbot.status;
 
-import net.lyzrex.lythrionbot.ServiceType;
-
 public class ServiceStatus {
 
-    private final ServiceType type;
+    private final String serviceId;
     private final boolean online;
     private final int playersOnline;
     private final int playersMax;
     private final String version;
     private final long pingMs;
 
-    public ServiceStatus(ServiceType type,
+    public ServiceStatus(String serviceId,
                          boolean online,
                          int playersOnline,
                          int playersMax,
                          String version,
                          long pingMs) {
-        this.type = type;
+        this.serviceId = serviceId;
         this.online = online;
         this.playersOnline = playersOnline;
         this.playersMax = playersMax;
@@ -25,8 +23,8 @@ public class ServiceStatus {
         this.pingMs = pingMs;
     }
 
-    public ServiceType getType() {
-        return type;
+    public String getServiceId() {
+        return serviceId;
     }
 
     public boolean isOnline() {
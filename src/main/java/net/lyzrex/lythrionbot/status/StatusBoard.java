@@ -0,0 +1,178 @@
+package net.lyzrex.lythrionbot.status;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live-Statusanzeige: eine angepinnte Nachricht pro Kanal (bot.status_channel_id,
+ * mehrere IDs mit Komma getrennt), die aus den Hintergrund-Snapshots des
+ * {@link StatusService} gerendert wird.
+ *
+ * Die Nachricht wird nur editiert, wenn sich der Status wirklich geändert hat
+ * ({@link StatusService#boardStateHash}: Online-/Wartungsstatus, Spieler,
+ * Latenz-Stufe usw. – Ping in ms, Perzentile und "Last check" zählen nicht).
+ * Wer nur auf den Status schaut, löst damit weder eine Abfrage noch einen
+ * Discord-API-Call aus.
+ */
+public final class StatusBoard {
+
+    private final JDA jda;
+    private final StatusService statusService;
+    private final List<String> channelIds;
+    private final long updateIntervalMs;
+
+    private final Map<String, BoardMessage> messages = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private volatile boolean dirty = true;
+
+    private static final class BoardMessage {
+        private volatile String messageId;
+        private volatile int lastHash;
+        private volatile boolean creating;
+    }
+
+    public StatusBoard(JDA jda, StatusService statusService, List<String> channelIds, long updateIntervalMs) {
+        this.jda = jda;
+        this.statusService = statusService;
+        this.channelIds = channelIds;
+        this.updateIntervalMs = updateIntervalMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "status-board");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start() {
+        if (channelIds.isEmpty()) return;
+        for (String channelId : channelIds) {
+            messages.put(channelId, new BoardMessage());
+            locateExisting(channelId);
+        }
+        statusService.addRefreshListener(() -> dirty = true);
+        scheduler.scheduleWithFixedDelay(this::tick, updateIntervalMs, updateIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // ========================================================================
+    // Intern
+    // ========================================================================
+
+    /**
+     * Sucht unter den angepinnten Nachrichten nach unserem Board, damit nach
+     * einem Neustart keine zweite Nachricht entsteht.
+     */
+    private void locateExisting(String channelId) {
+        TextChannel channel = jda.getTextChannelById(channelId);
+        BoardMessage board = messages.get(channelId);
+        if (channel == null) {
+            System.err.println("[StatusBoard] Status channel " + channelId + " not found.");
+            return;
+        }
+
+        board.creating = true;
+        channel.retrievePinnedMessages().queue(pinned -> {
+            for (Message msg : pinned) {
+                if (isOwnBoard(msg)) {
+                    board.messageId = msg.getId();
+                    break;
+                }
+            }
+            board.creating = false;
+            dirty = true;
+        }, err -> {
+            board.creating = false;
+            dirty = true;
+        });
+    }
+
+    private boolean isOwnBoard(Message msg) {
+        if (!msg.getAuthor().getId().equals(jda.getSelfUser().getId())) return false;
+        for (MessageEmbed embed : msg.getEmbeds()) {
+            if (StatusService.EMBED_TITLE.equals(embed.getTitle())) return true;
+        }
+        return false;
+    }
+
+    private void tick() {
+        if (!dirty) return;
+        dirty = false;
+
+        try {
+            List<ServiceStatus> snapshots = statusService.currentSnapshots();
+            if (snapshots.isEmpty()) return;
+
+            int hash = statusService.boardStateHash(snapshots);
+            if (allUpToDate(hash)) return;
+
+            MessageEmbed embed = statusService.buildStatusEmbed(snapshots);
+
+            for (Map.Entry<String, BoardMessage> e : messages.entrySet()) {
+                publish(e.getKey(), e.getValue(), embed, hash);
+            }
+        } catch (Exception ex) {
+            System.err.println("[StatusBoard] Failed to update status board: " + ex.getMessage());
+        }
+    }
+
+    private void publish(String channelId, BoardMessage board, MessageEmbed embed, int hash) {
+        if (board.creating) {
+            dirty = true; // nach der Suche bzw. dem Anlegen nochmal versuchen
+            return;
+        }
+        if (board.messageId != null && board.lastHash == hash) {
+            return; // nichts geändert -> kein API-Call
+        }
+
+        TextChannel channel = jda.getTextChannelById(channelId);
+        if (channel == null) return;
+
+        if (board.messageId == null) {
+            board.creating = true;
+            channel.sendMessageEmbeds(embed).queue(msg -> {
+                board.messageId = msg.getId();
+                board.lastHash = hash;
+                board.creating = false;
+                msg.pin().queue(null, err -> System.err.println("[StatusBoard] Failed to pin status message: " + err.getMessage()));
+            }, err -> {
+                board.creating = false;
+                System.err.println("[StatusBoard] Failed to send status message: " + err.getMessage());
+            });
+            return;
+        }
+
+        channel.editMessageEmbedsById(board.messageId, embed).queue(
+                msg -> board.lastHash = hash,
+                err -> {
+                    if (err instanceof ErrorResponseException ere && ere.getErrorResponse() == ErrorResponse.UNKNOWN_MESSAGE) {
+                        // Nachricht wurde gelöscht -> beim nächsten Tick neu anlegen
+                        board.messageId = null;
+                        dirty = true;
+                    } else {
+                        System.err.println("[StatusBoard] Failed to edit status message: " + err.getMessage());
+                    }
+                }
+        );
+    }
+
+    private boolean allUpToDate(int hash) {
+        for (BoardMessage board : messages.values()) {
+            if (board.creating || board.messageId == null || board.lastHash != hash) return false;
+        }
+        return true;
+    }
+}
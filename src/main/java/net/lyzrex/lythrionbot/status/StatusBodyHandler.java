@@ -0,0 +1,490 @@
+package net.lyzrex.lythrionbot.status;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * BodyHandler für Status-Antworten, der das JSON direkt aus den Byte-Puffern
+ * des HttpClients liest, statt erst einen String und dann einen JSONObject-Baum
+ * zu bauen.
+ *
+ * Gelesen werden nur die Felder, die das Status-Embed braucht:
+ * - online
+ * - players.online / players.max (bzw. playersOnline / playersMax bei LythCore)
+ * - version (String) bzw. version.name_raw / version.name (mcstatus.io)
+ *
+ * Alles andere (MOTD, Icon als Base64, Spielerliste, ...) wird nur überlesen,
+ * ohne dafür Objekte anzulegen. Sobald alle Felder da sind, ist das Ergebnis
+ * fertig; der Rest der Antwort wird bis {@link #DRAIN_LIMIT} Bytes noch
+ * verworfen, damit die Verbindung wiederverwendet werden kann, darüber wird
+ * der Download abgebrochen.
+ */
+public final class StatusBodyHandler implements HttpResponse.BodyHandler<StatusBodyHandler.Payload> {
+
+    public static final StatusBodyHandler MCSTATUS = new StatusBodyHandler(StatusSourceType.MCSTATUS);
+    public static final StatusBodyHandler LYTHCORE = new StatusBodyHandler(StatusSourceType.LYTHCORE);
+
+    static final int DRAIN_LIMIT = 64 * 1024;
+    private static final int MAX_DEPTH = 256;
+    private static final int MAX_VALUE_LENGTH = 256;
+    private static final int MAX_KEY_LENGTH = 32;
+
+    /**
+     * Die gelesenen Felder; null bzw. -1 = nicht in der Antwort enthalten.
+     */
+    public static final class Payload {
+        private final int statusCode;
+        private Boolean online;
+        private int playersOnline = -1;
+        private int playersMax = -1;
+        private int flatPlayersOnline = -1;
+        private int flatPlayersMax = -1;
+        private String version;
+        private String versionName;
+        private String versionNameRaw;
+
+        Payload(int statusCode) {
+            this.statusCode = statusCode;
+        }
+
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        public Boolean getOnline() {
+            return online;
+        }
+
+        public int getPlayersOnline() {
+            return playersOnline;
+        }
+
+        public int getPlayersMax() {
+            return playersMax;
+        }
+
+        public int getFlatPlayersOnline() {
+            return flatPlayersOnline;
+        }
+
+        public int getFlatPlayersMax() {
+            return flatPlayersMax;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getVersionName() {
+            return versionName;
+        }
+
+        public String getVersionNameRaw() {
+            return versionNameRaw;
+        }
+    }
+
+    private final StatusSourceType source;
+
+    private StatusBodyHandler(StatusSourceType source) {
+        this.source = source;
+    }
+
+    @Override
+    public HttpResponse.BodySubscriber<Payload> apply(HttpResponse.ResponseInfo info) {
+        if (info.statusCode() != 200) {
+            // Body wird nicht gebraucht, nur verworfen
+            return HttpResponse.BodySubscribers.replacing(new Payload(info.statusCode()));
+        }
+        return new Parser(source, new Payload(info.statusCode()));
+    }
+
+    /**
+     * Parst einen kompletten Body synchron (z.B. für Tests oder Benchmarks).
+     */
+    public static Payload parse(StatusSourceType source, byte[] body) throws IOException {
+        Parser parser = new Parser(source, new Payload(200));
+        parser.feed(ByteBuffer.wrap(body));
+        parser.finish();
+        return parser.payload;
+    }
+
+    // ========================================================================
+    // Push-Parser
+    // ========================================================================
+
+    // Bekannte Keys; alles andere ist K_OTHER
+    private static final int K_OTHER = 0;
+    private static final int K_ONLINE = 1;
+    private static final int K_PLAYERS = 2;
+    private static final int K_MAX = 3;
+    private static final int K_VERSION = 4;
+    private static final int K_NAME = 5;
+    private static final int K_NAME_RAW = 6;
+    private static final int K_PLAYERS_ONLINE = 7;
+    private static final int K_PLAYERS_MAX = 8;
+
+    private static final byte[][] KEYS = {
+            null,
+            ascii("online"),
+            ascii("players"),
+            ascii("max"),
+            ascii("version"),
+            ascii("name"),
+            ascii("name_raw"),
+            ascii("playersOnline"),
+            ascii("playersMax")
+    };
+
+    private enum Lex { NONE, STRING, STRING_ESCAPE, LITERAL, DONE }
+
+    private static final class Parser implements HttpResponse.BodySubscriber<Payload> {
+        private final StatusSourceType source;
+        private final Payload payload;
+        private final CompletableFuture<Payload> result = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        private final byte[] containers = new byte[MAX_DEPTH];
+        private int depth;
+        private boolean expectKey;
+        private boolean sawRoot;
+        private long offset;
+
+        // Key pro Ebene 1 und 2 (nur die brauchen wir)
+        private int key1 = K_OTHER;
+        private int key2 = K_OTHER;
+
+        private Lex lex = Lex.NONE;
+        private boolean stringIsKey;
+        private int target = K_OTHER; // Ziel-Feld des aktuellen Werts, siehe field()
+        private final byte[] capture = new byte[MAX_VALUE_LENGTH];
+        private int captureLength;
+        private boolean captureOverflow;
+        private boolean hasEscape;
+
+        private long drained;
+
+        private Parser(StatusSourceType source, Payload payload) {
+            this.source = source;
+            this.payload = payload;
+        }
+
+        @Override
+        public CompletionStage<Payload> getBody() {
+            return result;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> buffers) {
+            try {
+                for (ByteBuffer buf : buffers) {
+                    if (lex == Lex.DONE) {
+                        drained += buf.remaining();
+                        if (drained > DRAIN_LIMIT) {
+                            subscription.cancel();
+                            return;
+                        }
+                        continue;
+                    }
+                    feed(buf);
+                }
+            } catch (IOException ex) {
+                lex = Lex.DONE;
+                subscription.cancel();
+                result.completeExceptionally(ex);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            try {
+                finish();
+                result.complete(payload);
+            } catch (IOException ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+
+        private void finish() throws IOException {
+            if (lex == Lex.DONE) return;
+            if (lex == Lex.LITERAL) endLiteral();
+            if (!sawRoot || depth != 0 || lex != Lex.NONE) {
+                throw new IOException("Truncated status payload after " + offset + " bytes");
+            }
+        }
+
+        private void feed(ByteBuffer buf) throws IOException {
+            while (buf.hasRemaining() && lex != Lex.DONE) {
+                byte b = buf.get();
+                offset++;
+                switch (lex) {
+                    case STRING -> {
+                        if (b == '"') {
+                            endString();
+                        } else {
+                            if (b == '\\') {
+                                hasEscape = true;
+                                lex = Lex.STRING_ESCAPE;
+                            }
+                            capture(b);
+                        }
+                    }
+                    case STRING_ESCAPE -> {
+                        capture(b);
+                        lex = Lex.STRING;
+                    }
+                    case LITERAL -> {
+                        if (isLiteralByte(b)) {
+                            capture(b);
+                        } else {
+                            endLiteral();
+                            structural(b);
+                        }
+                    }
+                    default -> structural(b);
+                }
+            }
+        }
+
+        private void structural(byte b) throws IOException {
+            switch (b) {
+                case ' ', '\t', '\r', '\n' -> {
+                }
+                case '{', '[' -> {
+                    if (depth == 0 && sawRoot) throw error(b);
+                    if (depth >= MAX_DEPTH) throw new IOException("Status payload nested too deep");
+                    sawRoot = true;
+                    containers[depth++] = b;
+                    expectKey = b == '{';
+                    if (depth == 2) key2 = K_OTHER;
+                }
+                case '}', ']' -> {
+                    if (depth == 0 || containers[depth - 1] != (b == '}' ? '{' : '[')) throw error(b);
+                    depth--;
+                    expectKey = false;
+                    if (depth == 0) {
+                        finishEarly(); // Root geschlossen, fertig
+                    }
+                }
+                case ',' -> {
+                    if (depth == 0) throw error(b);
+                    expectKey = containers[depth - 1] == '{';
+                }
+                case ':' -> {
+                    if (depth == 0) throw error(b);
+                    expectKey = false;
+                }
+                case '"' -> {
+                    if (depth == 0) throw error(b);
+                    stringIsKey = expectKey && containers[depth - 1] == '{';
+                    target = stringIsKey ? K_OTHER : field();
+                    startCapture();
+                    lex = Lex.STRING;
+                }
+                default -> {
+                    if (depth == 0 || !isLiteralByte(b)) throw error(b);
+                    target = field();
+                    startCapture();
+                    capture(b);
+                    lex = Lex.LITERAL;
+                }
+            }
+        }
+
+        /**
+         * Welches Feld wird durch den Wert an der aktuellen Position belegt?
+         * Kodiert als Key-Konstante von Ebene 1 bzw. (Ebene 2) * 16 + Ebene 1.
+         */
+        private int field() {
+            if (containers[depth - 1] != '{') return K_OTHER;
+            if (depth == 1) {
+                return switch (key1) {
+                    case K_ONLINE, K_PLAYERS_ONLINE, K_PLAYERS_MAX, K_VERSION -> key1;
+                    default -> K_OTHER;
+                };
+            }
+            if (depth == 2) {
+                if (key1 == K_PLAYERS && (key2 == K_ONLINE || key2 == K_MAX)) return key2 * 16 + key1;
+                if (key1 == K_VERSION && (key2 == K_NAME || key2 == K_NAME_RAW)) return key2 * 16 + key1;
+            }
+            return K_OTHER;
+        }
+
+        private void startCapture() {
+            captureLength = 0;
+            captureOverflow = false;
+            hasEscape = false;
+        }
+
+        private void capture(byte b) {
+            // Keys werden nur auf Ebene 1/2 gebraucht, Werte nur für bekannte Felder
+            boolean wanted = stringIsKey ? depth <= 2 : target != K_OTHER;
+            if (!wanted) return;
+            int limit = stringIsKey ? MAX_KEY_LENGTH : MAX_VALUE_LENGTH;
+            if (captureLength < limit) {
+                capture[captureLength++] = b;
+            } else {
+                captureOverflow = true;
+            }
+        }
+
+        private void endString() throws IOException {
+            lex = Lex.NONE;
+            if (stringIsKey) {
+                stringIsKey = false;
+                int key = captureOverflow || hasEscape ? K_OTHER : matchKey();
+                if (depth == 1) key1 = key;
+                else if (depth == 2) key2 = key;
+                return;
+            }
+            if (target != K_OTHER) {
+                assign(target, decodeString(), true);
+            }
+        }
+
+        private void endLiteral() throws IOException {
+            lex = Lex.NONE;
+            if (target != K_OTHER) {
+                assign(target, new String(capture, 0, captureLength, StandardCharsets.US_ASCII), false);
+            }
+        }
+
+        private void assign(int field, String value, boolean quoted) throws IOException {
+            switch (field) {
+                case K_ONLINE -> payload.online = parseBoolean(value);
+                case K_PLAYERS_ONLINE -> payload.flatPlayersOnline = parseInt(value);
+                case K_PLAYERS_MAX -> payload.flatPlayersMax = parseInt(value);
+                case K_VERSION -> {
+                    if (quoted) payload.version = value;
+                }
+                case K_ONLINE * 16 + K_PLAYERS -> payload.playersOnline = parseInt(value);
+                case K_MAX * 16 + K_PLAYERS -> payload.playersMax = parseInt(value);
+                case K_NAME * 16 + K_VERSION -> {
+                    if (quoted) payload.versionName = value;
+                }
+                case K_NAME_RAW * 16 + K_VERSION -> {
+                    if (quoted) payload.versionNameRaw = value;
+                }
+                default -> {
+                }
+            }
+            target = K_OTHER;
+            if (isComplete()) {
+                finishEarly();
+            }
+        }
+
+        private boolean isComplete() {
+            if (payload.online == null) return false;
+            if (source == StatusSourceType.MCSTATUS) {
+                return payload.playersOnline >= 0 && payload.playersMax >= 0 && payload.versionNameRaw != null;
+            }
+            boolean players = (payload.playersOnline >= 0 && payload.playersMax >= 0)
+                    || (payload.flatPlayersOnline >= 0 && payload.flatPlayersMax >= 0);
+            return players && payload.version != null;
+        }
+
+        private void finishEarly() {
+            lex = Lex.DONE;
+            result.complete(payload);
+        }
+
+        private int matchKey() {
+            for (int k = 1; k < KEYS.length; k++) {
+                if (Arrays.equals(capture, 0, captureLength, KEYS[k], 0, KEYS[k].length)) return k;
+            }
+            return K_OTHER;
+        }
+
+        private String decodeString() {
+            String raw = new String(capture, 0, captureLength, StandardCharsets.UTF_8);
+            return hasEscape ? unescape(raw) : raw;
+        }
+
+        private IOException error(byte b) {
+            return new IOException("Invalid status payload: unexpected '" + (char) (b & 0xFF) + "' at byte " + offset);
+        }
+    }
+
+    // ========================================================================
+    // Helper
+    // ========================================================================
+
+    private static boolean isLiteralByte(byte b) {
+        return (b >= '0' && b <= '9') || (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z')
+                || b == '-' || b == '+' || b == '.';
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true")) return Boolean.TRUE;
+        if (value.equalsIgnoreCase("false")) return Boolean.FALSE;
+        return null;
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            try {
+                return (int) Double.parseDouble(value);
+            } catch (NumberFormatException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    private static String unescape(String raw) {
+        StringBuilder sb = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 >= raw.length()) {
+                sb.append(c);
+                continue;
+            }
+            char e = raw.charAt(++i);
+            switch (e) {
+                case 'n' -> sb.append('\n');
+                case 't' -> sb.append('\t');
+                case 'r' -> sb.append('\r');
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'u' -> {
+                    if (i + 4 < raw.length()) {
+                        try {
+                            sb.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                            i += 4;
+                        } catch (NumberFormatException ex) {
+                            sb.append(e);
+                        }
+                    } else {
+                        sb.append(e);
+                    }
+                }
+                default -> sb.append(e); // \" \\ \/
+            }
+        }
+        return sb.toString();
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,235 @@
+package net.lyzrex.lythrionbot.status;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Persistiert alle Status-Polls lokal, damit der Uptime-Verlauf einen
+ * Neustart übersteht – ohne zusätzliche Last auf der MurmelAPI-Datenbank.
+ *
+ * Aufbau:
+ * - Segmente "status-&lt;startEpochMs&gt;.log" mit fester Größe, per mmap beschrieben
+ * - Records mit fester Breite (24 Byte):
+ *   [0]  int  Service-Key (CRC32 der Target-ID)
+ *   [4]  long Zeitstempel (epoch ms, nie 0)
+ *   [12] int  Spieler online
+ *   [16] int  Ping in ms (-1 = unbekannt)
+ *   [20] byte online (0/1), Rest Padding
+ * - Ist ein Segment voll, wird ein neues angelegt; Segmente, die komplett
+ *   älter als die Retention sind, werden gelöscht.
+ *
+ * Ein neues Segment ist mit Nullen vorbelegt, das Ende der Daten ist daher
+ * der erste Record mit Zeitstempel 0.
+ */
+public final class StatusHistoryStore implements AutoCloseable {
+
+    static final int RECORD_SIZE = 24;
+    private static final int RECORDS_PER_SEGMENT = 65_536;
+    private static final long SEGMENT_SIZE = (long) RECORD_SIZE * RECORDS_PER_SEGMENT;
+    private static final String PREFIX = "status-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final long retentionMs;
+
+    private MappedByteBuffer current;
+    private long currentStart;
+    private int writeIndex;
+    private boolean closed;
+
+    private StatusHistoryStore(Path directory, long retentionMs) {
+        this.directory = directory;
+        this.retentionMs = retentionMs;
+    }
+
+    public static StatusHistoryStore open(Path directory, long retentionMs) throws IOException {
+        Files.createDirectories(directory);
+        StatusHistoryStore store = new StatusHistoryStore(directory, retentionMs);
+        store.openLatestSegment();
+        store.applyRetention(System.currentTimeMillis());
+        return store;
+    }
+
+    public static int keyOf(String serviceId) {
+        CRC32 crc = new CRC32();
+        crc.update(serviceId.getBytes(StandardCharsets.UTF_8));
+        return (int) crc.getValue();
+    }
+
+    // ========================================================================
+    // Schreiben
+    // ========================================================================
+
+    public synchronized void append(String serviceId, long timestampMs, boolean online, int players, long pingMs) {
+        if (closed) return;
+        try {
+            if (writeIndex >= RECORDS_PER_SEGMENT) {
+                rollover(timestampMs);
+            }
+            int pos = writeIndex * RECORD_SIZE;
+            current.putInt(pos, keyOf(serviceId));
+            current.putInt(pos + 12, players);
+            current.putInt(pos + 16, (int) Math.max(-1, Math.min(Integer.MAX_VALUE, pingMs)));
+            current.put(pos + 20, (byte) (online ? 1 : 0));
+            // Zeitstempel zuletzt: erst damit zählt der Record als geschrieben
+            current.putLong(pos + 4, Math.max(1, timestampMs));
+            writeIndex++;
+        } catch (IOException ex) {
+            System.err.println("[StatusHistoryStore] Failed to append sample: " + ex.getMessage());
+        }
+    }
+
+    public synchronized void flush() {
+        if (!closed && current != null) {
+            current.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        closed = true;
+        current = null;
+    }
+
+    // ========================================================================
+    // Replay
+    // ========================================================================
+
+    /**
+     * Spielt alle Records ab sinceMs in zeitlicher Reihenfolge in die
+     * passenden Verläufe ein (Key = {@link #keyOf(String)}).
+     *
+     * @return Anzahl eingespielter Records
+     */
+    public synchronized int replayInto(Map<Integer, UptimeHistory> histories, long sinceMs) {
+        int replayed = 0;
+        List<Long> starts = listSegmentStarts();
+        for (int i = 0; i < starts.size(); i++) {
+            // Segment endet spätestens dort, wo das nächste beginnt
+            if (i + 1 < starts.size() && starts.get(i + 1) < sinceMs) continue;
+
+            long start = starts.get(i);
+            try {
+                MappedByteBuffer buf = start == currentStart && current != null
+                        ? current
+                        : map(segmentPath(start), FileChannel.MapMode.READ_ONLY);
+                int count = start == currentStart ? writeIndex : findEnd(buf);
+
+                for (int r = 0; r < count; r++) {
+                    int pos = r * RECORD_SIZE;
+                    long ts = buf.getLong(pos + 4);
+                    if (ts < sinceMs) continue;
+                    UptimeHistory history = histories.get(buf.getInt(pos));
+                    if (history == null) continue;
+                    history.record(ts, buf.get(pos + 20) == 1, buf.getInt(pos + 16));
+                    replayed++;
+                }
+            } catch (IOException ex) {
+                System.err.println("[StatusHistoryStore] Failed to replay segment " + start + ": " + ex.getMessage());
+            }
+        }
+        return replayed;
+    }
+
+    // ========================================================================
+    // Segmente
+    // ========================================================================
+
+    private void openLatestSegment() throws IOException {
+        List<Long> starts = listSegmentStarts();
+        if (starts.isEmpty()) {
+            rollover(System.currentTimeMillis());
+            return;
+        }
+        currentStart = starts.get(starts.size() - 1);
+        current = map(segmentPath(currentStart), FileChannel.MapMode.READ_WRITE);
+        writeIndex = findEnd(current);
+    }
+
+    private void rollover(long timestampMs) throws IOException {
+        if (current != null) {
+            current.force();
+        }
+        long start = Math.max(timestampMs, currentStart + 1);
+        current = map(segmentPath(start), FileChannel.MapMode.READ_WRITE);
+        currentStart = start;
+        writeIndex = 0;
+        applyRetention(timestampMs);
+    }
+
+    private void applyRetention(long nowMs) {
+        if (retentionMs <= 0) return;
+        long cutoff = nowMs - retentionMs;
+        List<Long> starts = listSegmentStarts();
+        for (int i = 0; i + 1 < starts.size(); i++) {
+            if (starts.get(i + 1) >= cutoff) break;
+            try {
+                Files.deleteIfExists(segmentPath(starts.get(i)));
+            } catch (IOException ex) {
+                System.err.println("[StatusHistoryStore] Failed to delete old segment: " + ex.getMessage());
+            }
+        }
+    }
+
+    private MappedByteBuffer map(Path path, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            long size = mode == FileChannel.MapMode.READ_ONLY ? Math.min(channel.size(), SEGMENT_SIZE) : SEGMENT_SIZE;
+            MappedByteBuffer buf = channel.map(mode, 0, size);
+            buf.order(ByteOrder.BIG_ENDIAN);
+            return buf;
+        }
+    }
+
+    /**
+     * Binäre Suche nach dem ersten freien Record (Zeitstempel 0).
+     */
+    private static int findEnd(MappedByteBuffer buf) {
+        int lo = 0;
+        int hi = buf.capacity() / RECORD_SIZE;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (buf.getLong(mid * RECORD_SIZE + 4) != 0L) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private List<Long> listSegmentStarts() {
+        List<Long> starts = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path p : stream) {
+                String name = p.getFileName().toString();
+                try {
+                    starts.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        } catch (IOException ex) {
+            System.err.println("[StatusHistoryStore] Failed to list segments: " + ex.getMessage());
+        }
+        starts.sort(Long::compare);
+        return starts;
+    }
+
+    private Path segmentPath(long start) {
+        return directory.resolve(PREFIX + start + SUFFIX);
+    }
+}
@@ -1,13 +1,10 @@
 package net.lyzrex.lythrionbot.status;
 
 import net.dv8tion.jda.api.EmbedBuilder;
-import net.dv8tion.jda.api.JDA;
-import net.dv8tion.jda.api.entities.Activity;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 import net.lyzrex.lythrionbot.ConfigManager;
-import net.lyzrex.lythrionbot.ServiceType;
-import org.json.JSONObject;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
@@ -16,88 +13,366 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Kümmert sich um:
- * - HTTP-Abfragen (Velocity / Lobby / Citybuild)
- * - Caching dieser Abfragen
+ * - HTTP-Abfragen aller Status-Targets aus der config.yml (siehe {@link StatusTargetRegistry})
+ * - Hintergrund-Polling und Caching dieser Abfragen (Stale-While-Revalidate)
+ * - Circuit Breaker pro Target, damit ein toter Server /status nicht ausbremst
  * - Erzeugen des Status-Embeds für /status
  * - Aktualisieren der Bot-Presence
  * - API-Ping für /latency
  */
 public class StatusService {
 
+    public static final String EMBED_TITLE = "⚡ Lythrion Network Status";
+
     private static final long CACHE_TTL_MS = 15_000L; // 15s
+    private static final long POLL_TICK_MS = 1_000L;
+    private static final int MAX_HISTORY_CAPACITY = 200_000;
 
     private final HttpClient http;
     private final MaintenanceManager maintenanceManager;
+    private final StatusTargetRegistry registry;
+    private final StatusHistoryStore historyStore; // darf null sein (keine Persistenz)
+
+    // Ein Slot pro Target (Reihenfolge wie in der config.yml)
+    private final Map<String, ServiceSlot> slots = new LinkedHashMap<>();
+
+    // Hintergrund-Poller; die HTTP-Abfragen selbst laufen über sendAsync.
+    // Die Semaphore begrenzt, wie viele Targets gleichzeitig abgefragt werden.
+    private final ScheduledExecutorService poller;
+    private final Semaphore fanOut;
+
+    // Werden nach jedem abgeschlossenen Refresh aufgerufen (Status-Board, Presence)
+    private final List<Runnable> refreshListeners = new CopyOnWriteArrayList<>();
 
-    // einfacher Cache pro Service
-    private volatile CacheEntry mainCache;
-    private volatile CacheEntry lobbyCache;
-    private volatile CacheEntry citybuildCache;
+    // Werden bei jedem Zustandswechsel eines Circuit Breakers aufgerufen
+    private final List<CircuitBreaker.TransitionListener> breakerListeners = new CopyOnWriteArrayList<>();
+
+    // Nur angelegt, wenn es mindestens ein SLP-Target gibt
+    private MinecraftPingClient pingClient;
 
     private final DateTimeFormatter tsFormatter =
             DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZoneId.systemDefault());
 
     private record CacheEntry(ServiceStatus status, long timestamp) {}
 
+    /**
+     * Hält den letzten Snapshot eines Targets und sorgt dafür, dass pro Target
+     * immer nur ein Refresh gleichzeitig läuft (Single-Flight).
+     */
+    private final class ServiceSlot {
+        private final StatusTarget target;
+        private final UptimeHistory history;
+        private final CircuitBreaker breaker;
+        private volatile CacheEntry cache;
+        private volatile long nextPollAt;
+        private final AtomicReference<CompletableFuture<ServiceStatus>> inFlight = new AtomicReference<>();
+
+        private ServiceSlot(StatusTarget target, UptimeHistory history, CircuitBreaker breaker) {
+            this.target = target;
+            this.history = history;
+            this.breaker = breaker;
+        }
+
+        /**
+         * Startet einen Refresh oder hängt sich an den bereits laufenden an.
+         * Es wird kein Thread blockiert, solange auf das Netzwerk gewartet wird.
+         * Ist der Circuit offen, gibt es ohne Request sofort den Offline-Snapshot.
+         */
+        private CompletableFuture<ServiceStatus> refresh() {
+            while (true) {
+                CompletableFuture<ServiceStatus> running = inFlight.get();
+                if (running != null) {
+                    return running;
+                }
+
+                CompletableFuture<ServiceStatus> created = new CompletableFuture<>();
+                if (!inFlight.compareAndSet(null, created)) {
+                    continue;
+                }
+
+                if (!breaker.allowRequest(System.currentTimeMillis())) {
+                    complete(created, offlineStatus(target.id()));
+                    return created;
+                }
+
+                CompletableFuture<ServiceStatus> request;
+                try {
+                    request = fetch(target);
+                } catch (Throwable t) {
+                    request = CompletableFuture.failedFuture(t);
+                }
+
+                request.whenComplete((fresh, ex) -> {
+                    if (ex == null) {
+                        breaker.onSuccess();
+                        complete(created, fresh);
+                        return;
+                    }
+                    String reason = describe(ex);
+                    if (breaker.getState() == CircuitBreaker.State.CLOSED) {
+                        System.err.println("[StatusService] " + target.id() + " status request failed: " + reason);
+                    }
+                    breaker.onFailure(System.currentTimeMillis(), reason);
+                    complete(created, offlineStatus(target.id()));
+                });
+                return created;
+            }
+        }
+
+        private void complete(CompletableFuture<ServiceStatus> created, ServiceStatus result) {
+            long now = System.currentTimeMillis();
+            history.record(now, result.isOnline(), result.getPingMs());
+            if (historyStore != null) {
+                historyStore.append(target.id(), now, result.isOnline(), result.getPlayersOnline(), result.getPingMs());
+            }
+            cache = new CacheEntry(result, now);
+            inFlight.compareAndSet(created, null);
+            created.complete(result);
+            notifyRefreshListeners();
+        }
+
+        /**
+         * Refresh über den Fan-Out-Limiter. Ist kein Slot frei, wird der
+         * Refresh beim nächsten Tick nachgeholt.
+         */
+        private boolean tryRefreshLimited() {
+            if (inFlight.get() != null || !fanOut.tryAcquire()) {
+                return false;
+            }
+            nextPollAt = System.currentTimeMillis() + target.pollIntervalMs();
+            refresh().whenComplete((s, ex) -> fanOut.release());
+            return true;
+        }
+
+        /**
+         * Stale-While-Revalidate: liefert sofort den letzten Snapshot und stößt
+         * bei abgelaufenem TTL nur einen Hintergrund-Refresh an. Nur vor dem
+         * allerersten Poll hängt das Future am laufenden Request.
+         */
+        private CompletableFuture<ServiceStatus> current() {
+            CacheEntry entry = cache;
+            if (entry == null) {
+                return refresh();
+            }
+            long ttl = Math.max(CACHE_TTL_MS, target.pollIntervalMs() * 2);
+            if (System.currentTimeMillis() - entry.timestamp > ttl) {
+                tryRefreshLimited();
+            }
+            return CompletableFuture.completedFuture(entry.status);
+        }
+    }
+
     public StatusService(MaintenanceManager maintenanceManager) {
+        this(maintenanceManager, StatusTargetRegistry.fromConfig(), null);
+    }
+
+    public StatusService(MaintenanceManager maintenanceManager,
+                         StatusTargetRegistry registry,
+                         StatusHistoryStore historyStore) {
         this.maintenanceManager = maintenanceManager;
+        this.registry = registry;
+        this.historyStore = historyStore;
         this.http = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(5))
                 .build();
+
+        this.fanOut = new Semaphore(Math.max(1, ConfigManager.getInt("status.max_parallel", 4)));
+        this.poller = Executors.newSingleThreadScheduledExecutor(daemonFactory("status-poller"));
+
+        int maxHistory = Math.max(1, ConfigManager.getInt("status.history_capacity", MAX_HISTORY_CAPACITY));
+        int failureThreshold = ConfigManager.getInt("status.breaker.failure_threshold", 3);
+        long baseBackoff = TimeUnit.SECONDS.toMillis(ConfigManager.getInt("status.breaker.base_backoff_seconds", 10));
+        long maxBackoff = TimeUnit.SECONDS.toMillis(ConfigManager.getInt("status.breaker.max_backoff_seconds", 300));
+
+        breakerListeners.add(StatusService::logTransition);
+        for (StatusTarget target : registry.all()) {
+            UptimeHistory history = new UptimeHistory(UptimeHistory.capacityFor(target.pollIntervalMs(), maxHistory));
+            CircuitBreaker breaker = new CircuitBreaker(target.id(), failureThreshold, baseBackoff, maxBackoff,
+                    this::notifyBreakerListeners);
+            slots.put(target.id(), new ServiceSlot(target, history, breaker));
+        }
     }
 
     // ========================================================================
-    // Öffentliche API
+    // Lifecycle
     // ========================================================================
 
-    public ServiceStatus fetchMainStatus() {
-        long now = System.currentTimeMillis();
-        CacheEntry cache = mainCache;
-        if (cache != null && now - cache.timestamp <= CACHE_TTL_MS) {
-            return cache.status;
+    /**
+     * Startet den Hintergrund-Poller. Der Poller tickt jede Sekunde und fragt
+     * jedes Target nach seinem eigenen Intervall ab; der erste Durchlauf
+     * passiert sofort, damit /status nach dem Start direkt Snapshots hat.
+     * Vorher wird der gespeicherte Verlauf der letzten 7 Tage eingespielt.
+     */
+    public void start() {
+        if (historyStore != null) {
+            replayHistory();
         }
-        ServiceStatus fresh = doFetchMainStatus();
-        mainCache = new CacheEntry(fresh, now);
-        return fresh;
+        poller.scheduleWithFixedDelay(this::pollDue, 0, POLL_TICK_MS, TimeUnit.MILLISECONDS);
     }
 
-    public ServiceStatus fetchLobbyStatus() {
-        long now = System.currentTimeMillis();
-        CacheEntry cache = lobbyCache;
-        if (cache != null && now - cache.timestamp <= CACHE_TTL_MS) {
-            return cache.status;
+    public void shutdown() {
+        poller.shutdownNow();
+        synchronized (this) {
+            if (pingClient != null) {
+                pingClient.close();
+            }
         }
-        ServiceStatus fresh = fetchLythCoreStatus(
-                ServiceType.LOBBY,
-                ConfigManager.getString(
-                        "status.lobby_url",
-                        "http://138.201.19.210:8765/status?token=ServiceLobbyStatus"
-                )
-        );
-        lobbyCache = new CacheEntry(fresh, now);
-        return fresh;
+        if (historyStore != null) {
+            historyStore.close();
+        }
+    }
+
+    private void replayHistory() {
+        long start = System.currentTimeMillis();
+        Map<Integer, UptimeHistory> byKey = new HashMap<>();
+        for (ServiceSlot slot : slots.values()) {
+            byKey.put(StatusHistoryStore.keyOf(slot.target.id()), slot.history);
+        }
+        int replayed = historyStore.replayInto(byKey, start - UptimeHistory.Window.WEEK.getMillis());
+        System.out.println("[StatusService] Replayed " + replayed + " status samples in "
+                + (System.currentTimeMillis() - start) + "ms.");
     }
 
-    public ServiceStatus fetchCitybuildStatus() {
+    private void pollDue() {
         long now = System.currentTimeMillis();
-        CacheEntry cache = citybuildCache;
-        if (cache != null && now - cache.timestamp <= CACHE_TTL_MS) {
-            return cache.status;
+        for (ServiceSlot slot : slots.values()) {
+            if (now >= slot.nextPollAt) {
+                slot.tryRefreshLimited();
+            }
         }
-        ServiceStatus fresh = fetchLythCoreStatus(
-                ServiceType.CITYBUILD,
-                ConfigManager.getString(
-                        "status.citybuild_url",
-                        "http://138.201.19.210:8766/status?token=ServiceCBStatus"
-                )
-        );
-        citybuildCache = new CacheEntry(fresh, now);
-        return fresh;
+    }
+
+    // ========================================================================
+    // Öffentliche API
+    // ========================================================================
+
+    public StatusTargetRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Liefert den aktuellen Snapshot eines Targets. Das Future ist sofort fertig,
+     * sobald der Poller einmal gelaufen ist, und schlägt nie fehl (Fallback: offline).
+     */
+    public CompletableFuture<ServiceStatus> fetchStatus(String serviceId) {
+        ServiceSlot slot = slots.get(serviceId);
+        if (slot == null) {
+            return CompletableFuture.completedFuture(offlineStatus(serviceId));
+        }
+        return slot.current();
     }
 
+    /**
+     * Letzte Snapshots aller Targets, ohne Netzwerk-Zugriff. Targets, die noch
+     * nie abgefragt wurden, fehlen in der Liste.
+     */
+    public List<ServiceStatus> currentSnapshots() {
+        List<ServiceStatus> result = new ArrayList<>(slots.size());
+        for (ServiceSlot slot : slots.values()) {
+            CacheEntry entry = slot.cache;
+            if (entry != null) {
+                result.add(entry.status);
+            }
+        }
+        return result;
+    }
+
+    public void addRefreshListener(Runnable listener) {
+        refreshListeners.add(listener);
+    }
+
+    private void notifyRefreshListeners() {
+        for (Runnable listener : refreshListeners) {
+            try {
+                listener.run();
+            } catch (Exception ex) {
+                System.err.println("[StatusService] Refresh listener failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Wird bei jedem Zustandswechsel eines Circuit Breakers aufgerufen
+     * (Aufrufer-Thread ist der des auslösenden Requests).
+     */
+    public void addBreakerListener(CircuitBreaker.TransitionListener listener) {
+        breakerListeners.add(listener);
+    }
+
+    private void notifyBreakerListeners(String targetId, CircuitBreaker.State from, CircuitBreaker.State to,
+                                        long retryInMs, String reason) {
+        for (CircuitBreaker.TransitionListener listener : breakerListeners) {
+            try {
+                listener.onTransition(targetId, from, to, retryInMs, reason);
+            } catch (Exception ex) {
+                System.err.println("[StatusService] Breaker listener failed: " + ex.getMessage());
+            }
+        }
+    }
+
+    private static void logTransition(String targetId, CircuitBreaker.State from, CircuitBreaker.State to,
+                                      long retryInMs, String reason) {
+        if (to == CircuitBreaker.State.OPEN) {
+            System.err.println("[StatusService] Circuit for " + targetId + " opened (" + reason + "), retry in "
+                    + (retryInMs / 1000) + "s.");
+        } else if (to == CircuitBreaker.State.CLOSED) {
+            System.out.println("[StatusService] Circuit for " + targetId + " closed, target recovered.");
+        }
+    }
+
+    /**
+     * Circuit Breaker eines Targets oder null, wenn die ID unbekannt ist.
+     */
+    public CircuitBreaker getCircuitBreaker(String serviceId) {
+        ServiceSlot slot = slots.get(serviceId);
+        return slot != null ? slot.breaker : null;
+    }
+
+    /**
+     * Uptime-Verlauf eines Targets oder null, wenn die ID unbekannt ist.
+     */
+    public UptimeHistory getHistory(String serviceId) {
+        ServiceSlot slot = slots.get(serviceId);
+        return slot != null ? slot.history : null;
+    }
+
+    /**
+     * Snapshots aller Targets in Config-Reihenfolge.
+     */
+    public CompletableFuture<List<ServiceStatus>> fetchAll() {
+        List<CompletableFuture<ServiceStatus>> futures = new ArrayList<>();
+        for (ServiceSlot slot : slots.values()) {
+            futures.add(slot.current());
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    List<ServiceStatus> result = new ArrayList<>(futures.size());
+                    for (CompletableFuture<ServiceStatus> f : futures) {
+                        result.add(f.join());
+                    }
+                    return result;
+                });
+    }
+
+
     /**
      * Wird von /latency verwendet: pingt deine Status-API.
      * Standard: Lobby-Endpoint, kann über config.yml überschrieben werden.
@@ -129,7 +404,7 @@ public class StatusService {
             }
             return -1L;
         } catch (Exception ex) {
-            ex.printStackTrace();
+            System.err.println("[StatusService] Status API ping failed: " + describe(ex));
             return -1L;
         }
     }
@@ -167,34 +442,21 @@ public class StatusService {
 
 
     /**
-     * Baut das große Network-Status-Embed für /status.
+     * Baut das große Network-Status-Embed für /status aus allen Targets.
      */
-    public MessageEmbed buildStatusEmbed(ServiceStatus main,
-                                         ServiceStatus lobby,
-                                         ServiceStatus citybuild) {
+    public MessageEmbed buildStatusEmbed(List<ServiceStatus> statuses) {
 
         String lastCheck = tsFormatter.format(Instant.now());
 
-        boolean mainMaint = maintenanceManager.isMaintenance(ServiceType.MAIN);
-        boolean lobbyMaint = maintenanceManager.isMaintenance(ServiceType.LOBBY);
-        boolean cbMaint   = maintenanceManager.isMaintenance(ServiceType.CITYBUILD);
-
-        String mainStatusLabel = statusLabel(main.isOnline(), mainMaint);
-        String lobbyStatusLabel = statusLabel(lobby.isOnline(), lobbyMaint);
-        String cbStatusLabel = statusLabel(citybuild.isOnline(), cbMaint);
-
-        int mainUptime = calcUptimePercent(main.isOnline(), mainMaint);
-        int lobbyUptime = calcUptimePercent(lobby.isOnline(), lobbyMaint);
-        int cbUptime = calcUptimePercent(citybuild.isOnline(), cbMaint);
-
         int onlineCount = 0;
         int maintenanceCount = 0;
         int offlineCount = 0;
 
-        for (String label : new String[]{mainStatusLabel, lobbyStatusLabel, cbStatusLabel}) {
-            if (label.startsWith("🟢")) onlineCount++;
-            else if (label.startsWith("🟠")) maintenanceCount++;
-            else if (label.startsWith("🔴")) offlineCount++;
+        for (ServiceStatus status : statuses) {
+            boolean maint = maintenanceManager.isMaintenance(status.getServiceId());
+            if (maint) maintenanceCount++;
+            else if (status.isOnline()) onlineCount++;
+            else offlineCount++;
         }
 
         String healthLabel = "🟢 Stable";
@@ -208,24 +470,9 @@ public class StatusService {
         }
 
         // Network load (keine Doppelzählung)
-        int totalOnline;
-        int totalMax;
-
-        if (main.isOnline() && main.getPlayersMax() > 0) {
-            totalOnline = main.getPlayersOnline();
-            totalMax = main.getPlayersMax();
-        } else {
-            totalOnline = 0;
-            totalMax = 0;
-            if (lobby.isOnline()) {
-                totalOnline += lobby.getPlayersOnline();
-                totalMax += lobby.getPlayersMax();
-            }
-            if (citybuild.isOnline()) {
-                totalOnline += citybuild.getPlayersOnline();
-                totalMax += citybuild.getPlayersMax();
-            }
-        }
+        int[] load = networkLoad(statuses);
+        int totalOnline = load[0];
+        int totalMax = load[1];
 
         int loadPercent = 0;
         if (totalMax > 0) {
@@ -235,18 +482,6 @@ public class StatusService {
         String loadBar = buildLoadBar(loadPercent);
         String playabilityLabel = buildPlayabilityLabel(healthLabel, loadPercent);
 
-        String mainLatencyLabel = buildLatencyLabel(main.getPingMs());
-        String lobbyLatencyLabel = buildLatencyLabel(lobby.getPingMs());
-        String cbLatencyLabel = buildLatencyLabel(citybuild.getPingMs());
-
-        String mainLoadLabel = buildServiceLoadLabel(main.isOnline(), main.getPlayersOnline(), main.getPlayersMax());
-        String lobbyLoadLabel = buildServiceLoadLabel(lobby.isOnline(), lobby.getPlayersOnline(), lobby.getPlayersMax());
-        String cbLoadLabel = buildServiceLoadLabel(citybuild.isOnline(), citybuild.getPlayersOnline(), citybuild.getPlayersMax());
-
-        int mainUptimePercent = mainUptime;
-        int lobbyUptimePercent = lobbyUptime;
-        int cbUptimePercent = cbUptime;
-
         int networkColor = 0x22c55e; // green
         if (offlineCount > 0) {
             networkColor = 0xef4444; // red
@@ -254,49 +489,8 @@ public class StatusService {
             networkColor = 0xfacc15; // yellow
         }
 
-        String mainPingText = main.getPingMs() >= 0 ? main.getPingMs() + "ms" : "N/A";
-        String lobbyPingText = lobby.getPingMs() >= 0 ? lobby.getPingMs() + "ms" : "N/A";
-        String cbPingText = citybuild.getPingMs() >= 0 ? citybuild.getPingMs() + "ms" : "N/A";
-
-        String mainValue = String.join("\n",
-                "> **IP:** `Lythrion.net`",
-                "> **Status:** " + mainStatusLabel,
-                "> **Version:** `" + main.getVersion() + "`",
-                "> **Players:** " + (main.isOnline()
-                        ? main.getPlayersOnline() + "/" + main.getPlayersMax()
-                        : "0/0"),
-                "> **Ping:** " + mainPingText + " • " + mainLatencyLabel,
-                "> **Load:** " + mainLoadLabel,
-                "> **Uptime:** " + mainUptimePercent + "%",
-                "> " + buildUptimeBar(mainUptimePercent)
-        );
-
-        String lobbyValue = String.join("\n",
-                "> **Status:** " + lobbyStatusLabel,
-                "> **Version:** `" + lobby.getVersion() + "`",
-                "> **Players:** " + (lobby.isOnline()
-                        ? lobby.getPlayersOnline() + "/" + lobby.getPlayersMax()
-                        : "0/0"),
-                "> **Ping:** " + lobbyPingText + " • " + lobbyLatencyLabel,
-                "> **Load:** " + lobbyLoadLabel,
-                "> **Uptime:** " + lobbyUptimePercent + "%",
-                "> " + buildUptimeBar(lobbyUptimePercent)
-        );
-
-        String cbValue = String.join("\n",
-                "> **Status:** " + cbStatusLabel,
-                "> **Version:** `" + citybuild.getVersion() + "`",
-                "> **Players:** " + (citybuild.isOnline()
-                        ? citybuild.getPlayersOnline() + "/" + citybuild.getPlayersMax()
-                        : "0/0"),
-                "> **Ping:** " + cbPingText + " • " + cbLatencyLabel,
-                "> **Load:** " + cbLoadLabel,
-                "> **Uptime:** " + cbUptimePercent + "%",
-                "> " + buildUptimeBar(cbUptimePercent)
-        );
-
         EmbedBuilder eb = new EmbedBuilder()
-                .setTitle("⚡ Lythrion Network Status")
+                .setTitle(EMBED_TITLE)
                 .setColor(networkColor)
                 .setAuthor("Lythrion Monitoring", null, "https://api.mcstatus.io/v2/icon/lythrion.net")
                 .setThumbnail("https://api.mcstatus.io/v2/icon/lythrion.net")
@@ -326,178 +520,295 @@ public class StatusService {
                                 "**Playability:** " + playabilityLabel
                         ),
                         false
-                )
-                .addField("🚀 Main Core (Velocity Java)", mainValue, false)
-                .addField("🏠 Lobby Service", lobbyValue, true)
-                .addField("🏙️ Citybuild Service", cbValue, true)
-                .setFooter("Lythrion Status Dashboard")
+                );
+
+        for (ServiceStatus status : statuses) {
+            StatusTarget target = registry.get(status.getServiceId());
+            if (target == null) continue;
+            eb.addField(target.title(), buildServiceValue(target, status), target.inline());
+        }
+
+        eb.setFooter("Lythrion Status Dashboard")
                 .setTimestamp(Instant.now());
 
         return eb.build();
     }
 
     /**
-     * Setzt die Rich Presence des Bots basierend auf den Statusdaten.
+     * Hash über den stabilen Teil des Status-Embeds: Online-/Wartungsstatus,
+     * Spielerzahlen, Version, Latenz-Stufe, pausierte Checks und Uptime (24h)
+     * in ganzen Prozent. Ping in ms, Perzentile und Uptime auf 0,1 % ändern
+     * sich fast bei jeder Abfrage und zählen bewusst nicht – sie werden beim
+     * nächsten echten Edit mit aktualisiert.
      */
-    public void updatePresenceFromData(JDA jda,
-                                       ServiceStatus main,
-                                       ServiceStatus lobby,
-                                       ServiceStatus citybuild) {
+    public int boardStateHash(List<ServiceStatus> statuses) {
+        long now = System.currentTimeMillis();
+        StringBuilder sb = new StringBuilder();
+        for (ServiceStatus status : statuses) {
+            String id = status.getServiceId();
+            UptimeHistory history = getHistory(id);
+            CircuitBreaker breaker = getCircuitBreaker(id);
+            sb.append(id)
+                    .append('|').append(status.isOnline())
+                    .append('|').append(maintenanceManager.isMaintenance(id))
+                    .append('|').append(status.getPlayersOnline()).append('/').append(status.getPlayersMax())
+                    .append('|').append(status.getVersion())
+                    .append('|').append(buildLatencyLabel(status.getPingMs()))
+                    .append('|').append(breaker != null && breaker.getState() != CircuitBreaker.State.CLOSED)
+                    .append('|').append(history != null ? (int) Math.floor(history.uptimePercent(UptimeHistory.Window.DAY, now)) : -1)
+                    .append(';');
+        }
+        return sb.toString().hashCode();
+    }
 
-        int totalOnline;
-        int totalMax;
+    private String buildServiceValue(StatusTarget target, ServiceStatus status) {
+        boolean maint = maintenanceManager.isMaintenance(target.id());
+        UptimeHistory history = getHistory(target.id());
+        long now = System.currentTimeMillis();
+        double uptime = history != null ? history.uptimePercent(UptimeHistory.Window.DAY, now) : -1;
+        String pingText = status.getPingMs() >= 0 ? status.getPingMs() + "ms" : "N/A";
 
-        if (main.isOnline() && main.getPlayersMax() > 0) {
-            totalOnline = main.getPlayersOnline();
-            totalMax = main.getPlayersMax();
-        } else {
-            totalOnline = 0;
-            totalMax = 0;
-            if (lobby.isOnline()) {
-                totalOnline += lobby.getPlayersOnline();
-                totalMax += lobby.getPlayersMax();
-            }
-            if (citybuild.isOnline()) {
-                totalOnline += citybuild.getPlayersOnline();
-                totalMax += citybuild.getPlayersMax();
-            }
+        List<String> lines = new ArrayList<>();
+        if (target.address() != null && !target.address().isBlank()) {
+            lines.add("> **IP:** `" + target.address() + "`");
+        }
+        lines.add("> **Status:** " + statusLabel(status.isOnline(), maint));
+        lines.add("> **Version:** `" + status.getVersion() + "`");
+        lines.add("> **Players:** " + (status.isOnline()
+                ? status.getPlayersOnline() + "/" + status.getPlayersMax()
+                : "0/0"));
+        lines.add("> **Ping:** " + pingText + " • " + buildLatencyLabel(status.getPingMs()));
+        lines.add("> **Load:** " + buildServiceLoadLabel(status.isOnline(), status.getPlayersOnline(), status.getPlayersMax()));
+        CircuitBreaker breaker = getCircuitBreaker(target.id());
+        if (breaker != null && breaker.getState() != CircuitBreaker.State.CLOSED) {
+            lines.add("> **Checks:** 🔌 paused (endpoint unreachable, retrying with backoff)");
         }
+        if (history != null) {
+            lines.add("> **Ping p50/p95/p99 (1h):** " + formatPercentiles(history, now));
+            lines.add("> **Uptime:** " + formatUptime(history, now));
+        }
+        lines.add("> " + buildUptimeBar(uptime < 0 ? 0 : (int) Math.floor(uptime)));
+        return String.join("\n", lines);
+    }
+
+    /**
+     * Presence-Text für die aktuellen Daten. Gesetzt wird er vom
+     * {@link PresenceScheduler}, nicht pro Command-Aufruf.
+     */
+    public String buildPresenceText(List<ServiceStatus> statuses) {
+        int[] load = networkLoad(statuses);
+        int totalOnline = load[0];
+        int totalMax = load[1];
+
+        boolean anyOnline = statuses.stream().anyMatch(ServiceStatus::isOnline);
 
-        String presence;
         if (totalMax > 0) {
-            presence = "Playing on Lythrion.net (" + totalOnline + "/" + totalMax + ")";
-        } else if (main.isOnline() || lobby.isOnline() || citybuild.isOnline()) {
-            presence = "Playing on Lythrion.net (online)";
+            return "Playing on Lythrion.net (" + totalOnline + "/" + totalMax + ")";
+        } else if (anyOnline) {
+            return "Playing on Lythrion.net (online)";
         } else {
-            presence = "Lythrion.net (offline)";
+            return "Lythrion.net (offline)";
+        }
+    }
+
+    /**
+     * Spielerzahlen fürs ganze Netzwerk: Proxies zählen bereits alle Spieler,
+     * nur wenn kein Proxy erreichbar ist, werden die Backends summiert.
+     *
+     * @return {online, max}
+     */
+    private int[] networkLoad(List<ServiceStatus> statuses) {
+        int proxyOnline = 0;
+        int proxyMax = 0;
+        int backendOnline = 0;
+        int backendMax = 0;
+
+        for (ServiceStatus status : statuses) {
+            if (!status.isOnline()) continue;
+            StatusTarget target = registry.get(status.getServiceId());
+            if (target != null && target.proxy()) {
+                if (status.getPlayersMax() > 0) {
+                    proxyOnline += status.getPlayersOnline();
+                    proxyMax += status.getPlayersMax();
+                }
+            } else {
+                backendOnline += status.getPlayersOnline();
+                backendMax += status.getPlayersMax();
+            }
         }
 
-        jda.getPresence().setActivity(Activity.playing(presence));
+        if (proxyMax > 0) {
+            return new int[]{proxyOnline, proxyMax};
+        }
+        return new int[]{backendOnline, backendMax};
     }
 
     // ========================================================================
     // Interne HTTP-Implementierungen
     // ========================================================================
 
-    private ServiceStatus doFetchMainStatus() {
-        String ip = ConfigManager.getString("status.main_ip", "lythrion.net");
-        String type = ConfigManager.getString("status.main_type", "java");
-        String url = ConfigManager.getString(
-                "status.main_url",
-                "https://api.mcstatus.io/v2/status/" + type + "/" + ip
-        );
+    private CompletableFuture<ServiceStatus> fetch(StatusTarget target) {
+        return switch (target.sourceType()) {
+            case MCSTATUS -> sendStatusRequest(target, StatusBodyHandler.MCSTATUS, this::parseMcStatus);
+            case LYTHCORE -> sendStatusRequest(target, StatusBodyHandler.LYTHCORE, this::parseLythCoreStatus);
+            case SLP -> sendServerListPing(target);
+        };
+    }
 
+    /**
+     * Direkter Server List Ping statt HTTP. Die URL hat die Form slp://host:port.
+     */
+    private CompletableFuture<ServiceStatus> sendServerListPing(StatusTarget target) {
+        URI uri;
         try {
-            long start = System.currentTimeMillis();
+            uri = URI.create(target.url());
+        } catch (IllegalArgumentException ex) {
+            uri = null;
+        }
+        if (uri == null || uri.getHost() == null) {
+            System.err.println("[StatusService] Invalid SLP address for " + target.id() + ": " + target.url());
+            return CompletableFuture.completedFuture(offlineStatus(target.id()));
+        }
 
-            HttpRequest req = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(5))
-                    .GET()
-                    .build();
+        MinecraftPingClient client;
+        try {
+            client = pingClient();
+        } catch (IOException ex) {
+            System.err.println("[StatusService] Failed to start SLP client: " + ex.getMessage());
+            return CompletableFuture.completedFuture(offlineStatus(target.id()));
+        }
 
-            HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
-            long ping = System.currentTimeMillis() - start;
+        long connectTimeout = Math.min(target.timeoutMs(), 5_000L);
+        return client.ping(uri.getHost(), uri.getPort() > 0 ? uri.getPort() : 25565, connectTimeout, target.timeoutMs())
+                .thenApply(res -> new ServiceStatus(
+                        target.id(),
+                        res.online(),
+                        res.playersOnline(),
+                        res.playersMax(),
+                        res.version(),
+                        res.pingMs()
+                ))
+                .orTimeout(target.timeoutMs() + 1_000L, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Liefert den SLP-Client; ist sein Selector-Loop gestorben, wird er neu angelegt.
+     */
+    private synchronized MinecraftPingClient pingClient() throws IOException {
+        if (pingClient == null || !pingClient.isRunning()) {
+            if (pingClient != null) {
+                System.err.println("[StatusService] SLP client stopped, restarting it.");
+                pingClient.close();
+            }
+            pingClient = new MinecraftPingClient();
+        }
+        return pingClient;
+    }
 
-            boolean online = res.statusCode() == 200;
-            int playersOnline = 0;
-            int playersMax = 0;
-            String version = "Unknown";
+    private ServiceStatus parseMcStatus(StatusTarget target, StatusBodyHandler.Payload body, long ping) {
+        boolean online = body.getStatusCode() == 200 && Boolean.TRUE.equals(body.getOnline());
+        String version = body.getVersionNameRaw() != null ? body.getVersionNameRaw()
+                : body.getVersionName() != null ? body.getVersionName()
+                : "Unknown";
+
+        return new ServiceStatus(
+                target.id(),
+                online,
+                Math.max(0, body.getPlayersOnline()),
+                Math.max(0, body.getPlayersMax()),
+                version,
+                ping
+        );
+    }
 
-            if (online) {
-                JSONObject json = new JSONObject(res.body());
-                online = json.optBoolean("online", false);
+    private ServiceStatus parseLythCoreStatus(StatusTarget target, StatusBodyHandler.Payload body, long ping) {
+        boolean online = body.getStatusCode() == 200;
+        int playersOnline = 0;
+        int playersMax = 0;
+        String version = "Unknown";
 
-                JSONObject playersObj = json.optJSONObject("players");
-                if (playersObj != null) {
-                    playersOnline = playersObj.optInt("online", 0);
-                    playersMax = playersObj.optInt("max", 0);
-                }
+        if (online) {
+            if (body.getOnline() != null) {
+                online = body.getOnline();
+            }
 
-                JSONObject verObj = json.optJSONObject("version");
-                if (verObj != null) {
-                    version = verObj.optString(
-                            "name_raw",
-                            verObj.optString("name", "Unknown")
-                    );
-                }
+            if (body.getPlayersOnline() >= 0 || body.getPlayersMax() >= 0) {
+                playersOnline = Math.max(0, body.getPlayersOnline());
+                playersMax = Math.max(0, body.getPlayersMax());
+            } else {
+                playersOnline = Math.max(0, body.getFlatPlayersOnline());
+                playersMax = Math.max(0, body.getFlatPlayersMax());
             }
 
-            return new ServiceStatus(
-                    ServiceType.MAIN,
-                    online,
-                    playersOnline,
-                    playersMax,
-                    version,
-                    ping
-            );
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            return new ServiceStatus(
-                    ServiceType.MAIN,
-                    false,
-                    0,
-                    0,
-                    "Unknown",
-                    -1
-            );
+            if (body.getVersion() != null) {
+                version = body.getVersion();
+            }
         }
+
+        return new ServiceStatus(
+                target.id(),
+                online,
+                playersOnline,
+                playersMax,
+                version,
+                ping
+        );
     }
 
-    private ServiceStatus fetchLythCoreStatus(ServiceType type, String url) {
-        try {
-            long start = System.currentTimeMillis();
+    @FunctionalInterface
+    private interface ResponseParser {
+        ServiceStatus parse(StatusTarget target, StatusBodyHandler.Payload body, long ping);
+    }
 
-            HttpRequest req = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .timeout(Duration.ofSeconds(5))
+    /**
+     * Schickt den Request über sendAsync ab. Timeout gilt pro Target; Fehler
+     * und Timeouts schlagen als Exception durch, damit der Circuit Breaker
+     * sie zählen kann (der Offline-Fallback passiert im ServiceSlot).
+     */
+    private CompletableFuture<ServiceStatus> sendStatusRequest(StatusTarget target,
+                                                               StatusBodyHandler bodyHandler,
+                                                               ResponseParser parser) {
+        HttpRequest req;
+        try {
+            req = HttpRequest.newBuilder()
+                    .uri(URI.create(target.url()))
+                    .timeout(Duration.ofMillis(target.timeoutMs()))
                     .GET()
                     .build();
+        } catch (IllegalArgumentException ex) {
+            System.err.println("[StatusService] Invalid status URL for " + target.id() + ": " + target.url());
+            return CompletableFuture.completedFuture(offlineStatus(target.id()));
+        }
 
-            HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
-            long ping = System.currentTimeMillis() - start;
-
-            boolean online = res.statusCode() == 200;
-            int playersOnline = 0;
-            int playersMax = 0;
-            String version = "Unknown";
-
-            if (online) {
-                JSONObject json = new JSONObject(res.body());
-
-                online = json.optBoolean("online", online);
-
-                JSONObject playersObj = json.optJSONObject("players");
-                if (playersObj != null) {
-                    playersOnline = playersObj.optInt("online", 0);
-                    playersMax = playersObj.optInt("max", 0);
-                } else {
-                    playersOnline = json.optInt("playersOnline", 0);
-                    playersMax = json.optInt("playersMax", 0);
-                }
-
-                version = json.optString("version", version);
-            }
+        long start = System.currentTimeMillis();
+        return http.sendAsync(req, bodyHandler)
+                .thenApply(res -> parser.parse(target, res.body(), System.currentTimeMillis() - start))
+                .orTimeout(target.timeoutMs() + 1_000L, TimeUnit.MILLISECONDS);
+    }
 
-            return new ServiceStatus(
-                    type,
-                    online,
-                    playersOnline,
-                    playersMax,
-                    version,
-                    ping
-            );
-        } catch (Exception ex) {
-            ex.printStackTrace();
-            return new ServiceStatus(
-                    type,
-                    false,
-                    0,
-                    0,
-                    "Unknown",
-                    -1
-            );
+    /**
+     * Einzeilige Fehlerbeschreibung statt Stacktrace.
+     */
+    private static String describe(Throwable ex) {
+        Throwable cause = ex;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
         }
+        String message = cause.getMessage();
+        return message == null || message.isBlank()
+                ? cause.getClass().getSimpleName()
+                : cause.getClass().getSimpleName() + ": " + message;
+    }
+
+    private static ServiceStatus offlineStatus(String serviceId) {
+        return new ServiceStatus(
+                serviceId,
+                false,
+                0,
+                0,
+                "Unknown",
+                -1
+        );
     }
 
     // ========================================================================
@@ -509,9 +820,22 @@ public class StatusService {
         return online ? "🟢 Online" : "🔴 Offline";
     }
 
-    private int calcUptimePercent(boolean online, boolean maintenance) {
-        if (maintenance) return 75;
-        return online ? 100 : 0;
+    private String formatUptime(UptimeHistory history, long now) {
+        List<String> parts = new ArrayList<>();
+        for (UptimeHistory.Window window : UptimeHistory.Window.values()) {
+            double percent = history.uptimePercent(window, now);
+            String value = percent < 0 ? "N/A" : String.format("%.1f%%", percent);
+            parts.add(window.getLabel() + " " + value);
+        }
+        return String.join(" • ", parts);
+    }
+
+    private String formatPercentiles(UptimeHistory history, long now) {
+        long p50 = history.pingPercentile(UptimeHistory.Window.HOUR, 0.50, now);
+        long p95 = history.pingPercentile(UptimeHistory.Window.HOUR, 0.95, now);
+        long p99 = history.pingPercentile(UptimeHistory.Window.HOUR, 0.99, now);
+        if (p50 < 0) return "N/A";
+        return p50 + "/" + p95 + "/" + p99 + "ms";
     }
 
     private int clampPercent(int p) {
@@ -569,4 +893,13 @@ public class StatusService {
         }
         return "✅ Smooth experience expected";
     }
-}
\ No newline at end of file
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package net.lyzrex.lythrionbot.status;
+
+/**
+ * Wie die Antwort eines Status-Endpoints interpretiert wird.
+ */
+public enum StatusSourceType {
+    MCSTATUS("mcstatus"),
+    LYTHCORE("lythcore"),
+    SLP("slp");
+
+    private final String id;
+
+    StatusSourceType(String id) {
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public static StatusSourceType fromId(String id) {
+        if (id == null) return null;
+        for (StatusSourceType t : values()) {
+            if (t.id.equalsIgnoreCase(id)) return t;
+        }
+        return null;
+    }
+}
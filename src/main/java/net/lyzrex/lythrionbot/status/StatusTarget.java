@@ -0,0 +1,31 @@
+package net.lyzrex.lythrionbot.status;
+
+/**
+ * Ein überwachter Server aus status.targets in der config.yml.
+ *
+ * @param id             stabiler Schlüssel (auch für maintenance.&lt;id&gt;)
+ * @param name           Anzeigename im Embed und bei /maintenance
+ * @param icon           Emoji vor dem Namen
+ * @param sourceType     Parser für die Antwort
+ * @param url            abgefragter Endpoint
+ * @param address        öffentliche Adresse für das Embed, darf null sein
+ * @param pollIntervalMs Abstand zwischen zwei Abfragen
+ * @param timeoutMs      Timeout pro Request
+ * @param proxy          true, wenn die Spielerzahl bereits das ganze Netzwerk abdeckt (Velocity)
+ * @param inline         Embed-Feld inline darstellen
+ */
+public record StatusTarget(String id,
+                           String name,
+                           String icon,
+                           StatusSourceType sourceType,
+                           String url,
+                           String address,
+                           long pollIntervalMs,
+                           long timeoutMs,
+                           boolean proxy,
+                           boolean inline) {
+
+    public String title() {
+        return (icon == null || icon.isBlank()) ? name : icon + " " + name;
+    }
+}
@@ -0,0 +1,163 @@
+package net.lyzrex.lythrionbot.status;
+
+import net.lyzrex.lythrionbot.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lädt die Status-Ziele aus der config.yml:
+ *
+ * status:
+ *   targets:
+ *     - id: "lobby"
+ *       name: "Lobby Service"
+ *       type: "lythcore"
+ *       url: "http://..."
+ *       poll_interval_seconds: 10
+ *       timeout_ms: 5000
+ *     - id: "survival"
+ *       type: "slp"            # direkter Server List Ping
+ *       address: "10.0.0.5"
+ *       port: 25565
+ *
+ * Fehlt der Block, werden die bisherigen drei Server (main/lobby/citybuild)
+ * aus den alten status.*_url Keys aufgebaut.
+ */
+public final class StatusTargetRegistry {
+
+    private final Map<String, StatusTarget> targets;
+
+    private StatusTargetRegistry(Map<String, StatusTarget> targets) {
+        this.targets = Collections.unmodifiableMap(targets);
+    }
+
+    public static StatusTargetRegistry fromConfig() {
+        long defaultInterval = Math.max(1, ConfigManager.getInt("status.poll_interval_seconds", 10)) * 1000L;
+        long defaultTimeout = Math.max(500, ConfigManager.getLong("status.request_timeout_ms", 5000L));
+
+        Map<String, StatusTarget> map = new LinkedHashMap<>();
+        for (Map<String, Object> raw : ConfigManager.getMapList("status.targets")) {
+            StatusTarget target = parse(raw, defaultInterval, defaultTimeout);
+            if (target == null) continue;
+            if (map.putIfAbsent(target.id(), target) != null) {
+                System.err.println("[StatusTargetRegistry] Duplicate status target id '" + target.id() + "', ignoring.");
+            }
+        }
+
+        if (map.isEmpty()) {
+            for (StatusTarget target : legacyDefaults(defaultInterval, defaultTimeout)) {
+                map.put(target.id(), target);
+            }
+        }
+        return new StatusTargetRegistry(map);
+    }
+
+    public List<StatusTarget> all() {
+        return new ArrayList<>(targets.values());
+    }
+
+    public StatusTarget get(String id) {
+        return id == null ? null : targets.get(id.toLowerCase());
+    }
+
+    public int size() {
+        return targets.size();
+    }
+
+    // ========================================================================
+    // Parsing
+    // ========================================================================
+
+    private static StatusTarget parse(Map<String, Object> raw, long defaultInterval, long defaultTimeout) {
+        String id = str(raw.get("id"), null);
+        if (id == null || id.isBlank()) {
+            System.err.println("[StatusTargetRegistry] Status target without id, ignoring: " + raw);
+            return null;
+        }
+        id = id.toLowerCase();
+
+        StatusSourceType type = StatusSourceType.fromId(str(raw.get("type"), "lythcore"));
+        if (type == null) {
+            System.err.println("[StatusTargetRegistry] Unknown type for status target '" + id + "': " + raw.get("type"));
+            return null;
+        }
+
+        String address = str(raw.get("address"), null);
+        String url = str(raw.get("url"), null);
+        if ((url == null || url.isBlank()) && address != null) {
+            if (type == StatusSourceType.MCSTATUS) {
+                url = mcStatusUrl(str(raw.get("edition"), "java"), address);
+            } else if (type == StatusSourceType.SLP) {
+                url = "slp://" + address + ":" + num(raw.get("port"), 25565);
+            }
+        }
+        if (url == null || url.isBlank()) {
+            System.err.println("[StatusTargetRegistry] Status target '" + id + "' has no url, ignoring.");
+            return null;
+        }
+
+        long interval = num(raw.get("poll_interval_seconds"), -1);
+        long timeout = num(raw.get("timeout_ms"), -1);
+
+        return new StatusTarget(
+                id,
+                str(raw.get("name"), id),
+                str(raw.get("icon"), ""),
+                type,
+                url,
+                address,
+                interval > 0 ? interval * 1000L : defaultInterval,
+                timeout > 0 ? timeout : defaultTimeout,
+                bool(raw.get("proxy"), false),
+                bool(raw.get("inline"), false)
+        );
+    }
+
+    private static List<StatusTarget> legacyDefaults(long interval, long timeout) {
+        String ip = ConfigManager.getString("status.main_ip", "lythrion.net");
+        String type = ConfigManager.getString("status.main_type", "java");
+
+        return List.of(
+                new StatusTarget("main", "Main Core (Velocity Java)", "🚀", StatusSourceType.MCSTATUS,
+                        ConfigManager.getString("status.main_url", mcStatusUrl(type, ip)),
+                        "Lythrion.net", interval, timeout, true, false),
+                new StatusTarget("lobby", "Lobby Service", "🏠", StatusSourceType.LYTHCORE,
+                        ConfigManager.getString("status.lobby_url",
+                                "http://138.201.19.210:8765/status?token=ServiceLobbyStatus"),
+                        null, interval, timeout, false, true),
+                new StatusTarget("citybuild", "Citybuild Service", "🏙️", StatusSourceType.LYTHCORE,
+                        ConfigManager.getString("status.citybuild_url",
+                                "http://138.201.19.210:8766/status?token=ServiceCBStatus"),
+                        null, interval, timeout, false, true)
+        );
+    }
+
+    private static String mcStatusUrl(String edition, String address) {
+        return "https://api.mcstatus.io/v2/status/" + edition + "/" + address;
+    }
+
+    private static String str(Object o, String def) {
+        return o == null ? def : String.valueOf(o);
+    }
+
+    private static long num(Object o, long def) {
+        if (o instanceof Number n) return n.longValue();
+        if (o instanceof String s) {
+            try {
+                return Long.parseLong(s.trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return def;
+    }
+
+    private static boolean bool(Object o, boolean def) {
+        if (o instanceof Boolean b) return b;
+        if (o instanceof String s) return Boolean.parseBoolean(s);
+        return def;
+    }
+}
@@ -0,0 +1,189 @@
+package net.lyzrex.lythrionbot.status;
+
+/**
+ * Ringpuffer fester Größe mit allen Polls eines Status-Targets.
+ *
+ * Die Samples liegen in primitiven Arrays (kein Objekt pro Poll). Für jedes
+ * Zeitfenster (1h / 24h / 7d) werden Zähler und ein Ping-Histogramm laufend
+ * mitgeführt: ein neues Sample wird addiert, Samples, die aus dem Fenster
+ * fallen oder überschrieben werden, wieder abgezogen. Dadurch kosten Abfragen
+ * amortisiert O(1) und der Speicher bleibt unabhängig von der Laufzeit fix.
+ *
+ * Passt ein Fenster nicht komplett in den Puffer, deckt es nur die ältesten
+ * noch vorhandenen Samples ab.
+ */
+public final class UptimeHistory {
+
+    public enum Window {
+        HOUR("1h", 60L * 60 * 1000),
+        DAY("24h", 24L * 60 * 60 * 1000),
+        WEEK("7d", 7L * 24 * 60 * 60 * 1000);
+
+        private final String label;
+        private final long millis;
+
+        Window(String label, long millis) {
+            this.label = label;
+            this.millis = millis;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    // Ping-Histogramm: 5ms Buckets bis 2s, alles darüber landet im letzten Bucket
+    private static final int BUCKET_WIDTH_MS = 5;
+    private static final int BUCKETS = 400;
+    private static final Window[] WINDOWS = Window.values();
+
+    private final int capacity;
+    private final long[] timestamps;
+    private final boolean[] online;
+    private final int[] pings;
+
+    // Anzahl aller jemals geschriebenen Samples; Slot = seq % capacity
+    private long written;
+
+    // Pro Fenster: Sequenznummer des ältesten enthaltenen Samples + Aggregate
+    private final long[] tail = new long[WINDOWS.length];
+    private final int[] sampleCount = new int[WINDOWS.length];
+    private final int[] onlineCount = new int[WINDOWS.length];
+    private final int[] pingCount = new int[WINDOWS.length];
+    private final int[][] pingHistogram = new int[WINDOWS.length][BUCKETS];
+
+    public UptimeHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        this.capacity = capacity;
+        this.timestamps = new long[capacity];
+        this.online = new boolean[capacity];
+        this.pings = new int[capacity];
+    }
+
+    /**
+     * Kapazität, damit das 7-Tage-Fenster beim angegebenen Poll-Intervall
+     * komplett hineinpasst, gedeckelt auf maxCapacity.
+     */
+    public static int capacityFor(long pollIntervalMs, int maxCapacity) {
+        long needed = Window.WEEK.getMillis() / Math.max(1_000L, pollIntervalMs) + 1;
+        return (int) Math.min(Math.max(needed, 1), maxCapacity);
+    }
+
+    // ========================================================================
+    // Schreiben
+    // ========================================================================
+
+    public synchronized void record(long timestampMs, boolean isOnline, long pingMs) {
+        // Ältestes Sample wird gleich überschrieben -> aus allen Fenstern entfernen
+        if (written >= capacity) {
+            long overwritten = written - capacity;
+            for (int w = 0; w < tail.length; w++) {
+                if (tail[w] == overwritten) {
+                    evictOldest(w);
+                }
+            }
+        }
+
+        int slot = (int) (written % capacity);
+        timestamps[slot] = timestampMs;
+        online[slot] = isOnline;
+        pings[slot] = (int) Math.min(Integer.MAX_VALUE, pingMs);
+        written++;
+
+        for (int w = 0; w < tail.length; w++) {
+            sampleCount[w]++;
+            if (isOnline) {
+                onlineCount[w]++;
+            }
+            if (isOnline && pingMs >= 0) {
+                pingCount[w]++;
+                pingHistogram[w][bucket(pingMs)]++;
+            }
+        }
+
+        expire(timestampMs);
+    }
+
+    // ========================================================================
+    // Abfragen
+    // ========================================================================
+
+    /**
+     * @return Uptime in Prozent (0-100) im Fenster oder -1, wenn es keine Samples gibt
+     */
+    public synchronized double uptimePercent(Window window, long nowMs) {
+        expire(nowMs);
+        int w = window.ordinal();
+        if (sampleCount[w] == 0) return -1;
+        return onlineCount[w] * 100.0 / sampleCount[w];
+    }
+
+    /**
+     * Ping-Perzentil (z.B. 0.95) über alle Online-Samples im Fenster.
+     * Auflösung ist die Bucket-Breite von 5ms.
+     *
+     * @return Ping in ms oder -1, wenn es keine Online-Samples gibt
+     */
+    public synchronized long pingPercentile(Window window, double percentile, long nowMs) {
+        expire(nowMs);
+        int w = window.ordinal();
+        int total = pingCount[w];
+        if (total == 0) return -1;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        int[] histogram = pingHistogram[w];
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += histogram[b];
+            if (seen >= rank) {
+                return (long) (b + 1) * BUCKET_WIDTH_MS;
+            }
+        }
+        return (long) BUCKETS * BUCKET_WIDTH_MS;
+    }
+
+    public synchronized int sampleCount(Window window, long nowMs) {
+        expire(nowMs);
+        return sampleCount[window.ordinal()];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // ========================================================================
+    // Intern
+    // ========================================================================
+
+    private void expire(long nowMs) {
+        for (int w = 0; w < WINDOWS.length; w++) {
+            long cutoff = nowMs - WINDOWS[w].getMillis();
+            while (tail[w] < written && timestamps[(int) (tail[w] % capacity)] < cutoff) {
+                evictOldest(w);
+            }
+        }
+    }
+
+    private void evictOldest(int w) {
+        int slot = (int) (tail[w] % capacity);
+        sampleCount[w]--;
+        if (online[slot]) {
+            onlineCount[w]--;
+            if (pings[slot] >= 0) {
+                pingCount[w]--;
+                pingHistogram[w][bucket(pings[slot])]--;
+            }
+        }
+        tail[w]++;
+    }
+
+    private static int bucket(long pingMs) {
+        return (int) Math.min(BUCKETS - 1, pingMs / BUCKET_WIDTH_MS);
+    }
+}
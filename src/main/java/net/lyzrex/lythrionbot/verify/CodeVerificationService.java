@@ -0,0 +1,181 @@
+package net.lyzrex.lythrionbot.verify;
+
+import de.murmelmeister.library.database.Database;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.middleman.MessageChannel;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.hooks.ListenerAdapter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Verifizierung per Code im Verify-Channel ("12345" schreiben).
+ *
+ * Auf dem JDA-Event-Thread passiert nur, was nichts kostet: Nachricht
+ * löschen, Format prüfen (vorkompiliertes Pattern) und Rate-Limit pro User.
+ * Die Datenbankzugriffe laufen auf einem eigenen, begrenzten Pool; ist seine
+ * Queue voll, bekommt der User eine "später nochmal"-Antwort statt dass
+ * Gateway-Events liegen bleiben.
+ */
+public class CodeVerificationService extends ListenerAdapter {
+
+    private static final Pattern CODE_PATTERN = Pattern.compile("\\d{5}");
+
+    /**
+     * Versuche eines Users im aktuellen Fenster.
+     */
+    private record Window(long startedAt, int attempts) {}
+
+    private final Database database;
+    private final String channelId;
+    private final String roleId;
+    private final int maxAttempts;
+    private final long windowMs;
+    private final ThreadPoolExecutor executor;
+    private final Map<Long, Window> attempts = new ConcurrentHashMap<>();
+
+    public CodeVerificationService(Database database, String channelId, String roleId,
+                                   int threads, int queueCapacity, int maxAttempts, long windowMs) {
+        this.database = database;
+        this.channelId = channelId;
+        this.roleId = roleId;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.windowMs = windowMs;
+
+        AtomicInteger counter = new AtomicInteger();
+        int poolSize = Math.max(1, threads);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), r -> {
+            Thread t = new Thread(r, "code-verification-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // ========================================================================
+    // Event-Thread
+    // ========================================================================
+
+    @Override
+    public void onMessageReceived(@NotNull MessageReceivedEvent event) {
+        if (event.getAuthor().isBot()) return;
+        if (!event.getChannel().getId().equals(channelId)) return;
+
+        String code = event.getMessage().getContentRaw().trim();
+        User author = event.getAuthor();
+        MessageChannel channel = event.getChannel();
+
+        // Nachricht sofort löschen
+        event.getMessage().delete().queue(null, e -> {});
+
+        if (!CODE_PATTERN.matcher(code).matches()) {
+            reply(channel, author, "invalid code format!");
+            return;
+        }
+
+        if (!tryAcquire(author.getIdLong())) {
+            reply(channel, author, "too many attempts, please wait a moment.");
+            return;
+        }
+
+        Member member = event.getMember();
+        Guild guild = event.isFromGuild() ? event.getGuild() : null;
+        try {
+            executor.execute(() -> verify(code, author, member, guild, channel));
+        } catch (RejectedExecutionException ex) {
+            reply(channel, author, "verification is busy right now, please try again in a few seconds.");
+        }
+    }
+
+    /**
+     * Festes Fenster pro User; abgelaufene Fenster werden beim nächsten
+     * Versuch ersetzt und bei Bedarf gesammelt entfernt.
+     */
+    private boolean tryAcquire(long userId) {
+        long now = System.currentTimeMillis();
+        if (attempts.size() > 10_000) {
+            attempts.values().removeIf(w -> now - w.startedAt() >= windowMs);
+        }
+        Window window = attempts.compute(userId, (id, w) ->
+                w == null || now - w.startedAt() >= windowMs ? new Window(now, 1) : new Window(w.startedAt(), w.attempts() + 1));
+        return window.attempts() <= maxAttempts;
+    }
+
+    // ========================================================================
+    // Worker
+    // ========================================================================
+
+    private void verify(String code, User author, Member member, Guild guild, MessageChannel channel) {
+        try {
+            // Check in Database
+            boolean isValid = database.exists(
+                    "SELECT 1 FROM discord_verify WHERE verify_code = ? AND verified = FALSE",
+                    s -> s.setString(1, code)
+            );
+
+            if (!isValid) {
+                reply(channel, author, "this code is invalid or already used!");
+                return;
+            }
+
+            // Update Database (verified = FALSE, damit ein Code nicht doppelt eingelöst wird)
+            database.update(
+                    "UPDATE discord_verify SET verified = TRUE, discord_id = ?, discord_name = ? WHERE verify_code = ? AND verified = FALSE",
+                    s -> {
+                        s.setString(1, author.getId());
+                        s.setString(2, author.getName());
+                        s.setString(3, code);
+                    }
+            );
+
+            // Database.update liefert keine Zeilenzahl: nachlesen, ob unser UPDATE
+            // gewonnen hat. Bei zwei gleichzeitigen Nachrichten mit demselben Code
+            // ändert das zweite UPDATE nichts und der Code gehört dem ersten User.
+            boolean redeemed = database.exists(
+                    "SELECT 1 FROM discord_verify WHERE verify_code = ? AND verified = TRUE AND discord_id = ?",
+                    s -> {
+                        s.setString(1, code);
+                        s.setString(2, author.getId());
+                    }
+            );
+            if (!redeemed) {
+                reply(channel, author, "this code is invalid or already used!");
+                return;
+            }
+
+            // Rolle geben
+            if (member != null && guild != null) {
+                Role verifiedRole = guild.getRoleById(roleId);
+                if (verifiedRole != null) {
+                    guild.addRoleToMember(member, verifiedRole).queue();
+                }
+            }
+
+            // Success Message
+            reply(channel, author, "you have been successfully verified! Your ingame reward is on its way.");
+        } catch (Exception ex) {
+            System.err.println("[CodeVerificationService] Verification failed for " + author.getId() + ": " + ex.getMessage());
+            reply(channel, author, "verification failed, please try again later.");
+        }
+    }
+
+    private static void reply(MessageChannel channel, User author, String message) {
+        channel.sendMessage(author.getAsMention() + ", " + message)
+                .queue(msg -> msg.delete().queueAfter(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,445 @@
+package net.lyzrex.lythrionbot.verify;
+
+import de.murmelmeister.library.database.Database;
+import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.UserSnowflake;
+import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
+import net.lyzrex.lythrionbot.listener.DiscordUserIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordnet offene Verifizierungen (discord_verify ohne discord_id) dem
+ * Discord-User mit dem angegebenen Namen zu.
+ *
+ * Statt bei jedem Tick alle offenen Zeilen neu zu lesen:
+ * - Outbox-Modus: die Spielseite schreibt bei jeder neuen oder geänderten
+ *   Anfrage eine Zeile nach discord_verify_events. Jeder Tick liest nur diese
+ *   Events, lädt die betroffenen Anfragen per id und quittiert die Events per
+ *   DELETE. Das Intervall passt sich an: outboxMinMs, solange Events kommen,
+ *   danach verdoppelt bis maxIdleMs – im Leerlauf fast keine DB-Last. Die
+ *   Tabelle legt die Spielseite an (db/game/discord_verify_events.sql); fehlt
+ *   sie, fällt der Poller auf den Poll-Modus zurück.
+ * - Poll-Modus (ohne Outbox): jeder Tick liest nur Zeilen mit id über der
+ *   High-Water-Mark (O(neue Zeilen)), festes Intervall pollMs.
+ * - merkt sich noch nicht zuordenbare Zeilen im Speicher und versucht sie mit
+ *   exponentiellem Backoff (gedeckelt auf maxBackoffMs) erneut – ohne Query,
+ *   nur ein Lookup im {@link DiscordUserIndex},
+ * - gleicht alle resyncMs einmal komplett ab, um geänderte oder von außen
+ *   erledigte Zeilen (bzw. verlorene Events) mitzubekommen.
+ *
+ * Zugeordnete Zeilen laufen gestuft in Batches: ein IN-Query für "schon
+ * verknüpft", ein DELETE für die verworfenen und ein UPDATE ... CASE für die
+ * übrigen Anfragen. Result-Sets werden nur in Records gelesen, keine Stufe
+ * hält die Verbindung einer anderen.
+ *
+ * Alle Felder werden nur im Poller-Thread angefasst.
+ */
+public class VerificationPoller {
+
+    private static final int PAGE_SIZE = 500;
+    // Zeilen pro IN (...) / CASE-Statement
+    private static final int BATCH_SIZE = 200;
+
+    private record Candidate(long id, String discordName, String code, String mcName) {}
+
+    private static final class Pending {
+        private final Candidate candidate;
+        private int attempts;
+        private long nextAttemptAt;
+
+        private Pending(Candidate candidate, long now) {
+            this.candidate = candidate;
+            this.nextAttemptAt = now;
+        }
+    }
+
+    private record Match(Candidate candidate, UserSnowflake user) {}
+
+    private record Event(long id, long verifyId) {}
+
+    private final JDA jda;
+    private final DiscordUserIndex userIndex;
+    private final Database database;
+    private final String channelId;
+    private final String roleId;
+    private boolean outbox;
+    private final long pollMs;
+    private final long outboxMinMs;
+    private final long maxIdleMs;
+    private final long resyncMs;
+    private final long maxBackoffMs;
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<Long, Pending> pending = new HashMap<>();
+    private long highWaterMark;
+    private long lastResync;
+    private long interval;
+
+    /**
+     * @param outbox      true = discord_verify_events konsumieren, false = High-Water-Mark-Polling
+     * @param pollMs      festes Intervall im Poll-Modus
+     * @param outboxMinMs Intervall, solange Events kommen (nur Outbox)
+     * @param maxIdleMs   längstes Intervall im Leerlauf (nur Outbox)
+     */
+    public VerificationPoller(JDA jda, DiscordUserIndex userIndex, Database database, String channelId, String roleId,
+                              boolean outbox, long pollMs, long outboxMinMs, long maxIdleMs,
+                              long resyncMs, long maxBackoffMs) {
+        this.jda = jda;
+        this.userIndex = userIndex;
+        this.database = database;
+        this.channelId = channelId;
+        this.roleId = roleId;
+        this.outbox = outbox;
+        this.pollMs = Math.max(100, pollMs);
+        this.outboxMinMs = Math.max(100, outboxMinMs);
+        this.maxIdleMs = Math.max(this.outboxMinMs, maxIdleMs);
+        this.interval = outbox ? this.outboxMinMs : this.pollMs;
+        this.resyncMs = resyncMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "verification-poller");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public void start() {
+        scheduler.execute(() -> {
+            if (outbox && !outboxTableExists()) {
+                System.err.println("[VerificationPoller] Table discord_verify_events is missing "
+                        + "(see db/game/discord_verify_events.sql), falling back to polling.");
+                outbox = false;
+                interval = pollMs;
+            }
+            scheduler.schedule(this::tickSafely, minInterval(), TimeUnit.MILLISECONDS);
+        });
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    // ========================================================================
+    // Tick
+    // ========================================================================
+
+    private void tickSafely() {
+        try {
+            tick();
+        } catch (Exception ex) {
+            System.err.println("[VerificationPoller] Tick failed: " + ex.getMessage());
+        } finally {
+            scheduleNext();
+        }
+    }
+
+    /**
+     * Nächster Tick: nach dem aktuellen Intervall, früher wenn ein Retry oder
+     * der Resync fällig wird.
+     */
+    private void scheduleNext() {
+        if (scheduler.isShutdown()) return;
+        long now = System.currentTimeMillis();
+        long delay = Math.min(interval, lastResync + resyncMs - now);
+        for (Pending p : pending.values()) {
+            delay = Math.min(delay, p.nextAttemptAt - now);
+        }
+        try {
+            scheduler.schedule(this::tickSafely, Math.max(minInterval(), delay), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // Shutdown
+        }
+    }
+
+    private void tick() {
+        TextChannel channel = jda.getTextChannelById(channelId);
+        if (channel == null) return;
+
+        long now = System.currentTimeMillis();
+        int received;
+        if (lastResync == 0 || now - lastResync >= resyncMs) {
+            resync(now);
+            received = outbox ? consumeOutbox(now) : 0;
+        } else {
+            received = outbox ? consumeOutbox(now) : fetchNew(now);
+        }
+
+        // Adaptiv: schnell, solange etwas ankommt, sonst langsamer bis maxIdleMs
+        if (outbox) {
+            interval = received > 0 ? outboxMinMs : Math.min(interval * 2, maxIdleMs);
+        }
+
+        // Stufe 1: fällige Zeilen per Index einem Discord-User zuordnen (ohne DB)
+        List<Match> matches = new ArrayList<>();
+        for (Pending p : pending.values()) {
+            if (p.nextAttemptAt > now) continue;
+            Long discordId = userIndex.findId(p.candidate.discordName());
+            if (discordId != null) {
+                matches.add(new Match(p.candidate, UserSnowflake.fromId(discordId)));
+            } else {
+                p.attempts++;
+                p.nextAttemptAt = now + backoff(p.attempts);
+            }
+        }
+
+        for (int i = 0; i < matches.size(); i += BATCH_SIZE) {
+            List<Match> batch = matches.subList(i, Math.min(matches.size(), i + BATCH_SIZE));
+            apply(channel, batch);
+            for (Match m : batch) {
+                pending.remove(m.candidate().id());
+            }
+        }
+    }
+
+    /**
+     * Liest nur Zeilen oberhalb der High-Water-Mark.
+     *
+     * @return Anzahl neuer Zeilen
+     */
+    private int fetchNew(long now) {
+        int total = 0;
+        List<Candidate> rows;
+        do {
+            long after = highWaterMark;
+            rows = database.queryList(
+                    "SELECT v.id, v.discord_name, v.verify_code, u.username FROM discord_verify v " +
+                            "JOIN users u ON v.user_id = u.id " +
+                            "WHERE v.discord_id IS NULL AND v.id > ? ORDER BY v.id LIMIT ?",
+                    rs -> new Candidate(rs.getLong("id"), rs.getString("discord_name"),
+                            rs.getString("verify_code"), rs.getString("username")),
+                    s -> {
+                        s.setLong(1, after);
+                        s.setInt(2, PAGE_SIZE);
+                    }
+            );
+            for (Candidate c : rows) {
+                pending.putIfAbsent(c.id(), new Pending(c, now));
+                highWaterMark = Math.max(highWaterMark, c.id());
+            }
+            total += rows.size();
+        } while (rows.size() == PAGE_SIZE);
+        return total;
+    }
+
+    // ========================================================================
+    // Outbox
+    // ========================================================================
+
+    private boolean outboxTableExists() {
+        try {
+            return database.exists(
+                    "SELECT 1 FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'discord_verify_events'",
+                    s -> {}
+            );
+        } catch (Exception e) {
+            System.err.println("[VerificationPoller] Failed to check outbox table: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private long minInterval() {
+        return outbox ? outboxMinMs : pollMs;
+    }
+
+    /**
+     * Liest offene Events, übernimmt die betroffenen Anfragen (neu oder
+     * geändert) und quittiert die Events. Ein Absturz zwischen Quittung und
+     * Verarbeitung wird vom nächsten Resync aufgefangen.
+     *
+     * @return Anzahl konsumierter Events
+     */
+    private int consumeOutbox(long now) {
+        int total = 0;
+        List<Event> events;
+        do {
+            events = database.queryList(
+                    "SELECT id, verify_id FROM discord_verify_events ORDER BY id LIMIT ?",
+                    rs -> new Event(rs.getLong("id"), rs.getLong("verify_id")),
+                    s -> s.setInt(1, PAGE_SIZE)
+            );
+            if (events.isEmpty()) break;
+
+            List<Long> verifyIds = events.stream().map(Event::verifyId).distinct().toList();
+            List<Candidate> rows = database.queryList(
+                    "SELECT v.id, v.discord_name, v.verify_code, u.username FROM discord_verify v " +
+                            "JOIN users u ON v.user_id = u.id " +
+                            "WHERE v.discord_id IS NULL AND v.id IN (" + placeholders(verifyIds.size()) + ")",
+                    rs -> new Candidate(rs.getLong("id"), rs.getString("discord_name"),
+                            rs.getString("verify_code"), rs.getString("username")),
+                    s -> {
+                        int i = 1;
+                        for (Long id : verifyIds) s.setLong(i++, id);
+                    }
+            );
+            for (Candidate c : rows) {
+                Pending p = pending.get(c.id());
+                if (p == null || !p.candidate.equals(c)) {
+                    pending.put(c.id(), new Pending(c, now));
+                }
+                highWaterMark = Math.max(highWaterMark, c.id());
+            }
+
+            // Quittieren: genau die gelesenen Events (nicht "id <= max", sonst
+            // gingen später committete Events mit kleinerer id verloren)
+            List<Event> consumed = events;
+            database.update(
+                    "DELETE FROM discord_verify_events WHERE id IN (" + placeholders(consumed.size()) + ")",
+                    s -> {
+                        int i = 1;
+                        for (Event e : consumed) s.setLong(i++, e.id());
+                    }
+            );
+            total += events.size();
+        } while (events.size() == PAGE_SIZE);
+        return total;
+    }
+
+    /**
+     * Voller Abgleich: übernimmt geänderte Zeilen (Backoff zurückgesetzt) und
+     * verwirft Zeilen, die inzwischen anderweitig erledigt wurden.
+     */
+    private void resync(long now) {
+        List<Candidate> rows = database.queryList(
+                "SELECT v.id, v.discord_name, v.verify_code, u.username FROM discord_verify v " +
+                        "JOIN users u ON v.user_id = u.id WHERE v.discord_id IS NULL",
+                rs -> new Candidate(rs.getLong("id"), rs.getString("discord_name"),
+                        rs.getString("verify_code"), rs.getString("username")),
+                null
+        );
+
+        Map<Long, Pending> next = new HashMap<>(rows.size() * 2);
+        for (Candidate c : rows) {
+            Pending p = pending.get(c.id());
+            if (p == null || !p.candidate.equals(c)) {
+                p = new Pending(c, now);
+            }
+            next.put(c.id(), p);
+            highWaterMark = Math.max(highWaterMark, c.id());
+        }
+        pending.clear();
+        pending.putAll(next);
+        lastResync = now;
+    }
+
+    private long backoff(int attempts) {
+        long delay = minInterval() << Math.min(attempts, 20);
+        return Math.min(delay, maxBackoffMs);
+    }
+
+    // ========================================================================
+    // Zuordnung
+    // ========================================================================
+
+    /**
+     * Stufen 2-4 für einen Batch, jede Stufe eine eigene Query; zwischen den
+     * Stufen ist keine Verbindung belegt. Discord-Nachrichten und Rollen erst,
+     * wenn die Datenbank aktualisiert ist.
+     */
+    private void apply(TextChannel channel, List<Match> batch) {
+        // Stufe 2: "schon verknüpft" für alle auf einmal. discord_name IN (...)
+        // vergleicht per _ci-Collation ohne Groß-/Kleinschreibung, daher auch
+        // hier klein geschrieben vergleichen
+        Set<String> linkedIds = new HashSet<>();
+        Set<String> linkedNames = new HashSet<>();
+        database.queryList(
+                "SELECT discord_id, discord_name FROM discord_verify WHERE verified = TRUE AND " +
+                        "(discord_id IN (" + placeholders(batch.size()) + ") OR discord_name IN (" + placeholders(batch.size()) + "))",
+                rs -> {
+                    linkedIds.add(rs.getString("discord_id"));
+                    String name = rs.getString("discord_name");
+                    if (name != null) linkedNames.add(name.toLowerCase(Locale.ROOT));
+                    return Boolean.TRUE;
+                },
+                s -> {
+                    int i = 1;
+                    for (Match m : batch) s.setString(i++, m.user().getId());
+                    for (Match m : batch) s.setString(i++, m.candidate().discordName());
+                }
+        );
+
+        List<Match> cancelled = new ArrayList<>();
+        List<Match> linked = new ArrayList<>();
+        for (Match m : batch) {
+            if (linkedIds.contains(m.user().getId()) || linkedNames.contains(m.candidate().discordName().toLowerCase(Locale.ROOT))) {
+                cancelled.add(m);
+            } else {
+                linked.add(m);
+            }
+        }
+
+        // Stufe 3: Anfragen bereits verknüpfter Accounts in einem DELETE verwerfen
+        if (!cancelled.isEmpty()) {
+            database.update(
+                    "DELETE FROM discord_verify WHERE verify_code IN (" + placeholders(cancelled.size()) + ")",
+                    s -> {
+                        int i = 1;
+                        for (Match m : cancelled) s.setString(i++, m.candidate().code());
+                    }
+            );
+        }
+
+        // Stufe 4: alle Discord-IDs in einem UPDATE ... CASE setzen
+        if (!linked.isEmpty()) {
+            StringBuilder sql = new StringBuilder("UPDATE discord_verify SET discord_id = CASE verify_code");
+            for (int i = 0; i < linked.size(); i++) {
+                sql.append(" WHEN ? THEN ?");
+            }
+            sql.append(" END WHERE verify_code IN (").append(placeholders(linked.size())).append(") AND discord_id IS NULL");
+            database.update(sql.toString(), s -> {
+                int i = 1;
+                for (Match m : linked) {
+                    s.setString(i++, m.candidate().code());
+                    s.setString(i++, m.user().getId());
+                }
+                for (Match m : linked) s.setString(i++, m.candidate().code());
+            });
+        }
+
+        Role role = channel.getGuild().getRoleById(roleId);
+        for (Match m : linked) {
+            announce(channel, role, m);
+        }
+    }
+
+    private void announce(TextChannel channel, Role role, Match m) {
+        UserSnowflake dUser = m.user();
+        Candidate c = m.candidate();
+
+        EmbedBuilder eb = new EmbedBuilder()
+                .setTitle("🔐 Account Verification")
+                .setColor(0x2ecc71)
+                .setThumbnail("https://mc-heads.net/avatar/" + c.mcName())
+                .setDescription("Hello " + dUser.getAsMention() + "!\n\nYou started a verification for: **" + c.mcName() + "**.")
+                .addField("Your Code", "```/link " + c.code() + "```", false)
+                .setFooter("Use this command in Minecraft to receive your 10,000$ reward!");
+
+        // Send message to the channel (Ping user)
+        channel.sendMessage(dUser.getAsMention()).setEmbeds(eb.build()).queue();
+
+        // Assign the verification role to the user
+        if (role != null) {
+            channel.getGuild().addRoleToMember(dUser, role).queue();
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+}
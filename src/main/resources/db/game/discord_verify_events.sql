@@ -0,0 +1,18 @@
+-- Outbox für Verifizierungs-Anfragen (VerificationPoller, verify.outbox: true).
+--
+-- Die Tabelle gehört der Spielseite und wird dort eingespielt. Die Spielseite
+-- schreibt bei jeder neuen oder geänderten discord_verify-Zeile ein Event mit
+-- deren id; der Bot liest die Events, verarbeitet die Anfragen und löscht die
+-- gelesenen Events wieder. Erst wenn diese Events tatsächlich geschrieben
+-- werden, verify.outbox im Bot einschalten – vorher findet er neue Anfragen
+-- nur noch beim periodischen Resync.
+
+CREATE TABLE IF NOT EXISTS discord_verify_events (
+  id         BIGINT    AUTO_INCREMENT PRIMARY KEY,
+  verify_id  BIGINT    NOT NULL,
+  created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Beispiel für den Producer auf der Spielseite (in derselben Transaktion wie
+-- das INSERT/UPDATE auf discord_verify):
+--   INSERT INTO discord_verify_events (verify_id) VALUES (?);
@@ -0,0 +1,13 @@
+-- Indizes für das Keyset-Paging der /leaderboard-Ranglisten
+-- (SyntrixRepository#getGlobalLevelPage, #getKillsPage, #getBalancePage).
+--
+-- Die Tabellen gehören dem Game-Server, der Bot legt deshalb selbst keine
+-- Indizes an, sondern warnt beim Start nur, wenn sie fehlen. Diese Migration
+-- wird auf der Spielseite eingespielt, am besten außerhalb der Stoßzeiten
+-- (CREATE INDEX sperrt bzw. kopiert je nach MySQL-Version die Tabelle).
+--
+-- Reihenfolge passend zur Sortierung: Wert absteigend, user_id aufsteigend.
+
+CREATE INDEX idx_lb_global_level ON player_skills (global_level DESC, user_id);
+CREATE INDEX idx_lb_kills ON player_stats (kills DESC, user_id);
+CREATE INDEX idx_lb_balance ON economy_balances (balance DESC, user_id);